@@ -63,6 +63,7 @@ public class Constants {
 
     public static final AttributeKey<Boolean> VALIDATION_ENABLED = new AttributeKey<Boolean>("VALIDATION_ENABLED", Boolean.class);
     public static final AttributeKey<Boolean> EDIATABLE_ENABLED = new AttributeKey<Boolean>("EDITABLE_ENABLED", Boolean.class);
+    public static final AttributeKey<Boolean> BUILD_CACHE_ENABLED = new AttributeKey<Boolean>("BUILD_CACHE_ENABLED", Boolean.class);
     public static final AttributeKey<Boolean> BUILDABLE_ENABLED =  new AttributeKey<Boolean>("BUILDABLE_ENABLED", Boolean.class);
 
     public static final AttributeKey<Boolean> GENERATED = new AttributeKey<Boolean>("GENERATED", Boolean.class);
@@ -157,16 +158,21 @@ public class Constants {
 
     public static final String DEFAULT_SOURCEFILE_TEMPLATE_LOCATION = "templates/builder/sourcefile.vm";
 
+    /**
+     * Processor option that enables incremental (aggregating) processing in Gradle.
+     * Aggregating processors may be handed unchanged types as class files, so it requires compiling with -parameters.
+     * All the annotations the builder processors read are kept in class files, so they are also seen on unchanged types.
+     */
+    public static final String INCREMENTAL_OPTION = "sundrio.incremental";
+    public static final String GRADLE_AGGREGATING_OPTION = "org.gradle.annotation.processing.aggregating";
+
+    /**
+     * Processor option with the number of threads used to derive and render the builders.
+     * Defaults to 1, which derives and renders them on the processor thread.
+     */
+    public static final String PARALLELISM_OPTION = "sundrio.parallelism";
+
 
-    public static final String ACCEPT_VISITOR_SNIPPET = "snippets/accept-visitor.txt";
-    public static final String BUILD_LIST_SNIPPET = "snippets/build-list.txt";
-    public static final String CAN_VISIT_SNIPPET = "snippets/can-visit.txt";
-    public static final String GET_TYPE_SNIPPET = "snippets/get-type.txt";
-    public static final String GET_CLASS_SNIPPET = "snippets/get-class.txt";
-    public static final String GET_TYPE_ARGUMENTS_SNIPPET = "snippets/get-type-arguments.txt";
-    public static final String AGGREGATE_SET_SNIPPET = "snippets/aggregate-set.txt";
-    public static final String AGGREGATE_LIST_SNIPPET = "snippets/aggregate-list.txt";
-    public static final String BUILD_SET_SNIPPET = "snippets/build-set.txt";
     public static final String SIMPLE_ARRAY_GETTER_SNIPPET = "snippets/simple-array-getter.txt";
     public static final String BUILDABLE_ARRAY_GETTER_SNIPPET = "snippets/buildable-array-getter.txt";
     public static final String VALIDATE_SNIPPET = "snippets/validate.txt";
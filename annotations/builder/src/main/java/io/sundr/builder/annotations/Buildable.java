@@ -24,11 +24,18 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Target({ElementType.CONSTRUCTOR, ElementType.TYPE})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Buildable {
 
     boolean editableEnabled() default true;
     boolean validationEnabled() default false;
+    /**
+     * Builders reuse the instance they last built, until they or one of their nested builders is modified.
+     * Builders created from an instance only wrap its nested values into builders when they are first accessed, edited or
+     * visited. Their first build still creates a new instance.
+     * The same instance may be returned by several calls to build(), so this is only meant for immutable types.
+     */
+    boolean buildCacheEnabled() default false;
     boolean generateBuilderPackage() default false;
     String builderPackage() default Constants.DEFAULT_BUILDER_PACKAGE;
     BuildableReference[] refs() default {};
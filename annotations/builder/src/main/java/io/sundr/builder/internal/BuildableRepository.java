@@ -16,40 +16,89 @@
 
 package io.sundr.builder.internal;
 
+import io.sundr.builder.internal.utils.BuilderUtils;
 import io.sundr.codegen.model.ClassRef;
 import io.sundr.codegen.model.ParameterReference;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeRef;
 
+import javax.lang.model.element.Element;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Keeps the buildable types of a compilation.
+ * Builders are derived concurrently, so access to the repository is synchronized.
+ */
 public class BuildableRepository {
 
     private final Map<String, TypeDef> buildables = new HashMap<String, TypeDef>();
+    private final Map<String, Set<Element>> originatingElements = new HashMap<String, Set<Element>>();
+    private Set<String> buildCacheObserved;
 
-    public TypeDef register(TypeDef buildable) {
+    public synchronized TypeDef register(TypeDef buildable) {
         if (buildable != null) {
             buildables.put(buildable.getFullyQualifiedName(), buildable);
+            buildCacheObserved = null;
         }
         return buildable;
     }
 
-    public Set<TypeDef> getBuildables() {
+    /**
+     * Registers a buildable along with the elements it originates from.
+     * The elements are accumulated, when the same buildable is registered more than once.
+     * @param buildable             The buildable.
+     * @param originatingElements   The elements the buildable was found in.
+     * @return                      The buildable.
+     */
+    public synchronized TypeDef register(TypeDef buildable, Element... originatingElements) {
+        if (buildable != null) {
+            Set<Element> elements = this.originatingElements.get(buildable.getFullyQualifiedName());
+            if (elements == null) {
+                elements = new LinkedHashSet<Element>();
+                this.originatingElements.put(buildable.getFullyQualifiedName(), elements);
+            }
+            Collections.addAll(elements, originatingElements);
+        }
+        return register(buildable);
+    }
+
+    /**
+     * @param buildable The buildable.
+     * @return          The elements the specified buildable originates from.
+     */
+    public synchronized Element[] getOriginatingElements(TypeDef buildable) {
+        Set<Element> elements = buildable != null ? originatingElements.get(buildable.getFullyQualifiedName()) : null;
+        return elements != null ? elements.toArray(new Element[elements.size()]) : new Element[0];
+    }
+
+    /**
+     * @return  The elements all buildables originate from.
+     */
+    public synchronized Element[] getOriginatingElements() {
+        Set<Element> elements = new LinkedHashSet<Element>();
+        for (Set<Element> e : originatingElements.values()) {
+            elements.addAll(e);
+        }
+        return elements.toArray(new Element[elements.size()]);
+    }
+
+    public synchronized Set<TypeDef> getBuildables() {
         return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(buildables.values()));
     }
 
-    public TypeDef getBuildable(TypeRef type) {
+    public synchronized TypeDef getBuildable(TypeRef type) {
         if (type instanceof ClassRef) {
             return buildables.get(((ClassRef)type).getDefinition().getFullyQualifiedName());
         }
         return null;
     }
 
-    public boolean isBuildable(TypeDef type) {
+    public synchronized boolean isBuildable(TypeDef type) {
         return type != null && buildables.containsKey(type.getFullyQualifiedName());
     }
 
@@ -60,7 +109,41 @@ public class BuildableRepository {
         return false;
     }
 
-    public void clear() {
+    /**
+     * Returns the names of the buildables whose builds are cached, or that can be nested in a buildable whose builds are cached.
+     * The names are computed once, when first needed after a buildable has been registered.
+     * @return  The names of the buildables.
+     */
+    public synchronized Set<String> getBuildCacheObserved() {
+        if (buildCacheObserved == null) {
+            Set<String> observed = new HashSet<String>();
+            for (TypeDef buildable : buildables.values()) {
+                if (!BuilderUtils.isBuildCacheEnabled(buildable)) {
+                    continue;
+                }
+                observe(observed, buildable);
+                for (TypeDef reachable : BuilderUtils.findReachableBuildables(buildable)) {
+                    observe(observed, reachable);
+                }
+            }
+            buildCacheObserved = Collections.unmodifiableSet(observed);
+        }
+        return buildCacheObserved;
+    }
+
+    /**
+     * Adds the buildable and its buildable super classes, as the fluents of the super classes hold inherited mutators.
+     */
+    private static void observe(Set<String> observed, TypeDef buildable) {
+        TypeDef type = buildable;
+        while (type != null && observed.add(type.getFullyQualifiedName())) {
+            type = BuilderUtils.findBuildableSuperClass(type);
+        }
+    }
+
+    public synchronized void clear() {
         buildables.clear();
+        originatingElements.clear();
+        buildCacheObserved = null;
     }
 }
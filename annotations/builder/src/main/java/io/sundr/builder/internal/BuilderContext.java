@@ -57,6 +57,9 @@ public class BuilderContext {
     private final TypeDef functionClass;
     private final TypeDef predicateClass;
     private final TypeDef baseFluentClass;
+    private final TypeDef traversalClass;
+    private final TypeDef parallelTraversalClass;
+    private final TypeDef visitablesClass;
     private final TypeDef fluentInterface;
     private final TypeDef builderInterface;
     private final TypeDef nestedInterface;
@@ -65,6 +68,7 @@ public class BuilderContext {
     private final TypeDef visitableBuilderInterface;
     private final TypeDef visitorInterface;
     private final TypeDef typedVisitorInterface;
+    private final TypeDef concurrentVisitorInterface;
     private final TypeDef pathAwareVisitorClass;
     private final TypeDef functionInterface;
     private final TypeDef inlineableBase;
@@ -106,6 +110,10 @@ public class BuilderContext {
                 .accept(new ReplacePackage("io.sundr.builder", builderPackage))
                 .build();
 
+        concurrentVisitorInterface = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/ConcurrentVisitor.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
         pathAwareVisitorClass = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/PathAwareTypedVisitor.java"))
                 .accept(new ReplacePackage("io.sundr.builder", builderPackage))
                 .build();
@@ -131,6 +139,18 @@ public class BuilderContext {
                 .accept(new ReplacePackage("io.sundr.builder", builderPackage))
                 .build();
 
+        traversalClass  = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/Traversal.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
+        parallelTraversalClass  = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/ParallelTraversal.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
+        visitablesClass  = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/Visitables.java"))
+                .accept(new ReplacePackage("io.sundr.builder", builderPackage))
+                .build();
+
         nestedInterface = new TypeDefBuilder(Sources.FROM_CLASSPATH_TO_SINGLE_TYPEDEF.apply("io/sundr/builder/Nested.java"))
                 .accept(new ReplacePackage("io.sundr.builder", builderPackage))
                 .build();
@@ -209,6 +229,18 @@ public class BuilderContext {
         return baseFluentClass;
     }
 
+    public TypeDef getTraversalClass() {
+        return traversalClass;
+    }
+
+    public TypeDef getParallelTraversalClass() {
+        return parallelTraversalClass;
+    }
+
+    public TypeDef getVisitablesClass() {
+        return visitablesClass;
+    }
+
     public TypeDef getFluentInterface() {
         return fluentInterface;
     }
@@ -245,6 +277,10 @@ public class BuilderContext {
         return typedVisitorInterface;
     }
 
+    public TypeDef getConcurrentVisitorInterface() {
+        return concurrentVisitorInterface;
+    }
+
     public TypeDef getPathAwareVisitorClass() {
         return pathAwareVisitorClass;
     }
@@ -283,6 +319,10 @@ public class BuilderContext {
         return buildableRepository;
     }
 
+    public CodegenContext getCodegenContext() {
+        return codegenContext;
+    }
+
     public DefinitionRepository getDefinitionRepository() {
         return codegenContext.getDefinitionRepository();
     }
@@ -18,24 +18,31 @@ package io.sundr.builder.internal;
 
 import io.sundr.builder.Builder;
 import io.sundr.builder.annotations.Inline;
+import io.sundr.codegen.CodegenContext;
 
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
+/**
+ * Keeps the {@link BuilderContext} of the compilation running on the current thread.
+ */
 public class BuilderContextManager {
     
     private BuilderContextManager() {}
 
-    private static BuilderContext context = null;
+    private static final ThreadLocal<BuilderContext> CONTEXT = new ThreadLocal<BuilderContext>();
 
-    public synchronized static BuilderContext create(Elements elements, Types types) {
-        context = new BuilderContext(elements, types, false, false, Builder.class.getPackage().getName());
+    public static BuilderContext create(Elements elements, Types types) {
+        BuilderContext context = new BuilderContext(elements, types, false, false, Builder.class.getPackage().getName());
+        CONTEXT.set(context);
         return context;
     }
 
     public static BuilderContext create(Elements elements, Types types, Boolean validationEnabled, Boolean generateBuilderPackage, String packageName, Inline... inlineables) {
-        if (context == null) {
+        BuilderContext context = CONTEXT.get();
+        if (context == null || context.getElements() != elements) {
             context = new BuilderContext(elements, types, generateBuilderPackage, validationEnabled, packageName, inlineables);
+            CONTEXT.set(context);
             return context;
         } else {
             if (!packageName.equals(context.getBuilderPackage())) {
@@ -45,15 +52,34 @@ public class BuilderContextManager {
             } else if (!generateBuilderPackage.equals(context.getGenerateBuilderPackage())) {
                 throw new IllegalStateException("Cannot use different values for generate builder package in a single project.");
             } else {
+                CodegenContext.bind(context.getCodegenContext());
                 return context;
             }
         }
     }
 
-    public static synchronized BuilderContext getContext() {
-        if (context== null) {
+    public static BuilderContext getContext() {
+        BuilderContext context = CONTEXT.get();
+        if (context == null) {
             throw new IllegalStateException("Builder context not available.");
         }
         return context;
     }
+
+    /**
+     * Binds the specified context and its {@link CodegenContext} to the current thread.
+     * @param context   The context or null to unbind the current one.
+     * @return          The context that was previously bound to the current thread.
+     */
+    public static BuilderContext bind(BuilderContext context) {
+        BuilderContext previous = CONTEXT.get();
+        if (context != null) {
+            CONTEXT.set(context);
+            CodegenContext.bind(context.getCodegenContext());
+        } else {
+            CONTEXT.remove();
+            CodegenContext.bind(null);
+        }
+        return previous;
+    }
 }
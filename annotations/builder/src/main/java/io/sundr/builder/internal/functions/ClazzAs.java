@@ -29,6 +29,7 @@ import io.sundr.builder.internal.visitors.InitEnricher;
 import io.sundr.codegen.CodegenContext;
 import io.sundr.codegen.DefinitionRepository;
 import io.sundr.codegen.functions.ClassTo;
+import io.sundr.codegen.functions.Collections;
 import io.sundr.codegen.model.AnnotationRef;
 import io.sundr.codegen.model.Block;
 import io.sundr.codegen.model.ClassRef;
@@ -54,16 +55,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static io.sundr.builder.Constants.*;
 import static io.sundr.builder.internal.utils.BuilderUtils.*;
+import static io.sundr.codegen.model.Attributeable.INIT;
 import static io.sundr.codegen.utils.TypeUtils.isAbstract;
 import static io.sundr.codegen.utils.TypeUtils.modifiersToInt;
 
 public class ClazzAs {
 
-    public static final Function<TypeDef, TypeDef> FLUENT_INTERFACE = FunctionFactory.wrap(new Function<TypeDef, TypeDef>() {
+    private static final String REACHABLE_TYPES = "_REACHABLE_TYPES";
+    private static final ClassRef REACHABLE_TYPES_REF = Collections.SET.toReference(CLASS.toUnboundedReference());
+
+    public static final Function<TypeDef, TypeDef> FLUENT_INTERFACE = FunctionFactory.wrap("ClazzAs.FLUENT_INTERFACE", new Function<TypeDef, TypeDef>() {
         public TypeDef apply(TypeDef item) {
             List<Method> methods = new ArrayList<Method>();
             List<TypeDef> nestedClazzes = new ArrayList<TypeDef>();
@@ -178,7 +184,7 @@ public class ClazzAs {
         }
     });
 
-    public static final Function<TypeDef, TypeDef> FLUENT_IMPL = FunctionFactory.wrap(new Function<TypeDef, TypeDef>() {
+    public static final Function<TypeDef, TypeDef> FLUENT_IMPL = FunctionFactory.wrap("ClazzAs.FLUENT_IMPL", new Function<TypeDef, TypeDef>() {
         public TypeDef apply(TypeDef item) {
             List<Method> constructors = new ArrayList<Method>();
             List<Method> methods = new ArrayList<Method>();
@@ -219,6 +225,8 @@ public class ClazzAs {
 
 
                 final boolean isBuildable = isBuildable(unwrapped);
+                final boolean isCopiedLazily = isBuildable && isBuildCacheEnabled(item);
+                final int firstMethod = methods.size();
                 final boolean isArray = TypeUtils.isArray(property.getTypeRef());
                 final boolean isSet = TypeUtils.isSet(property.getTypeRef());
                 final boolean isList = TypeUtils.isList(property.getTypeRef());
@@ -308,8 +316,17 @@ public class ClazzAs {
                 } else {
                     properties.add(buildableField(toAdd));
                 }
+
+                //Values that were not copied yet, need to be copied before they are accessed.
+                if (isCopiedLazily) {
+                    for (int i = firstMethod; i < methods.size(); i++) {
+                        methods.set(i, prepend(methods.get(i), "_materialize();"));
+                    }
+                }
             }
 
+            //The state fields added below are not compared.
+            final List<Property> compared = new ArrayList<Property>(properties);
             Method equals = new MethodBuilder()
                     .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
                     .withReturnType(ClassTo.TYPEREF.apply(boolean.class))
@@ -318,16 +335,90 @@ public class ClazzAs {
                     .withBlock(new Block(new Provider<List<Statement>>() {
                         @Override
                         public List<Statement> get() {
-                            return toEquals(fluentImplType, properties);
+                            return toEquals(fluentImplType, compared);
                         }
                     })).build();
 
-            methods.add(equals);
+            //Mutators mark the fluent as modified, so that cached builds of the fluent and its parents are discarded.
+            if (isBuildCacheObserved(item)) {
+                for (int i = 0; i < methods.size(); i++) {
+                    Method method = methods.get(i);
+                    if (genericType.toReference().equals(method.getReturnType())) {
+                        methods.set(i, prepend(method, "_markDirty();"));
+                    }
+                }
+                ClassRef baseFluent = BuilderContextManager.getContext().getBaseFluentClass().toUnboundedReference();
+                properties.add(toStateField("_parent", baseFluent));
+                methods.add(toStateGetter("_getParent", "_parent", baseFluent));
+                methods.add(toStateSetter("_setParent", "_parent", baseFluent));
+            }
+
+            if (isBuildCacheEnabled(item)) {
+                properties.add(toStateField("_built", Constants.OBJECT.toReference()));
+                methods.add(toStateGetter("_getBuilt", "_built", Constants.OBJECT.toReference()));
+                methods.add(toStateSetter("_setBuilt", "_built", Constants.OBJECT.toReference()));
+                methods.add(prepend(equals, "_materialize();", "_materialize(o);"));
+                List<Statement> deferredCopy = toInstanceCopy(item, "this", true);
+                if (!deferredCopy.isEmpty()) {
+                    TypeRef booleanRef = ClassTo.TYPEREF.apply(boolean.class);
+                    properties.add(toStateField("_deferred", Constants.OBJECT.toReference()));
+                    properties.add(toStateField("_materializing", booleanRef));
+                    methods.add(new MethodBuilder()
+                            .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                            .withReturnType(booleanRef)
+                            .withName("_setDeferred")
+                            .addNewArgument().withName("instance").withTypeRef(Constants.OBJECT.toReference()).endArgument()
+                            .withNewBlock()
+                            .addNewStringStatementStatement("this._deferred = instance; return true;")
+                            .endBlock()
+                            .build());
+                    methods.add(new MethodBuilder()
+                            .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                            .withReturnType(VOID)
+                            .withName("_materialize")
+                            .withNewBlock()
+                            .addNewStringStatementStatement("if (_deferred == null) { return; }")
+                            .addNewStringStatementStatement("Object deferred = _deferred; _deferred = null; _materializing = true;")
+                            .addNewStringStatementStatement("try { _copyDeferred(deferred); } finally { _materializing = false; }")
+                            .endBlock()
+                            .build());
+                    //Copying deferred values does not count as a modification, so a cached build of the fluent is kept.
+                    methods.add(new MethodBuilder()
+                            .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                            .withReturnType(VOID)
+                            .withName("_markDirty")
+                            .withNewBlock()
+                            .addNewStringStatementStatement("if (!_materializing) { super._markDirty(); }")
+                            .endBlock()
+                            .build());
+                    methods.add(new MethodBuilder()
+                            .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                            .withReturnType(VOID)
+                            .withName("_copyDeferred")
+                            .addNewArgument().withName("deferred").withTypeRef(Constants.OBJECT.toReference()).endArgument()
+                            .withNewBlock()
+                            .addNewStringStatementStatement(item.getName() + " instance = (" + item.getName() + ") deferred;")
+                            .addToStatements(deferredCopy.toArray(new Statement[deferredCopy.size()]))
+                            .endBlock()
+                            .build());
+                }
+            } else {
+                methods.add(equals);
+            }
+            methods.add(new MethodBuilder()
+                    .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                    .withReturnType(REACHABLE_TYPES_REF)
+                    .withName("_reachableTypes")
+                    .withNewBlock()
+                    .addNewStringStatementStatement("return " + REACHABLE_TYPES + ";")
+                    .endBlock()
+                    .build());
 
             return new TypeDefBuilder(fluentImplType)
                     .withAnnotations()
                     .withConstructors(constructors)
                     .withProperties(properties)
+                    .addToProperties(toReachableTypes(item))
                     .withInnerTypes(nestedClazzes)
                     .withMethods(methods)
                     .build();
@@ -335,7 +426,7 @@ public class ClazzAs {
     });
 
 
-    public static final Function<TypeDef, TypeDef> BUILDER = FunctionFactory.wrap(new Function<TypeDef, TypeDef>() {
+    public static final Function<TypeDef, TypeDef> BUILDER = FunctionFactory.wrap("ClazzAs.BUILDER", new Function<TypeDef, TypeDef>() {
         public TypeDef apply(final TypeDef item) {
             final Modifier[] modifiers = item.isAbstract()
                     ? new Modifier[]{Modifier.PUBLIC, Modifier.ABSTRACT}
@@ -494,7 +585,7 @@ public class ClazzAs {
                     .withBlock(new Block(new Provider<List<Statement>>() {
                         @Override
                         public List<Statement> get() {
-                            return toBuild(item, item);
+                            return toBuild(item, item, isBuildCacheEnabled(item));
                         }
                     })).build();
             methods.add(build);
@@ -524,7 +615,7 @@ public class ClazzAs {
 
     });
 
-    public static final Function<TypeDef, TypeDef> EDITABLE_BUILDER = FunctionFactory.wrap(new Function<TypeDef, TypeDef>() {
+    public static final Function<TypeDef, TypeDef> EDITABLE_BUILDER = FunctionFactory.wrap("ClazzAs.EDITABLE_BUILDER", new Function<TypeDef, TypeDef>() {
         public TypeDef apply(final TypeDef item) {
             final Modifier[] modifiers = item.isAbstract()
                     ? new Modifier[]{Modifier.PUBLIC, Modifier.ABSTRACT}
@@ -541,7 +632,7 @@ public class ClazzAs {
                         builder.withBlock(new Block(new Provider<List<Statement>>() {
                             @Override
                             public List<Statement> get() {
-                                return toBuild(editable, editable);
+                                return toBuild(editable, editable, isBuildCacheEnabled(item));
                             }
                         }));
                     }
@@ -550,7 +641,7 @@ public class ClazzAs {
         }
     });
 
-    public static final Function<TypeDef, TypeDef> EDITABLE = FunctionFactory.wrap(new Function<TypeDef, TypeDef>() {
+    public static final Function<TypeDef, TypeDef> EDITABLE = FunctionFactory.wrap("ClazzAs.EDITABLE", new Function<TypeDef, TypeDef>() {
         public TypeDef apply(TypeDef item) {
             Modifier[] modifiers = item.isAbstract()
                     ? new Modifier[]{Modifier.PUBLIC, Modifier.ABSTRACT}
@@ -597,7 +688,7 @@ public class ClazzAs {
     });
 
 
-    public static final Function<TypeDef, TypeDef> POJO = FunctionFactory.wrap(new Function<TypeDef, TypeDef>() {
+    public static final Function<TypeDef, TypeDef> POJO = FunctionFactory.wrap("ClazzAs.POJO", new Function<TypeDef, TypeDef>() {
         public TypeDef apply(TypeDef item) {
 
             List<Property> arguments = new CopyOnWriteArrayList<>();
@@ -756,7 +847,6 @@ public class ClazzAs {
     }
 
     private static List<Statement> toInstanceConstructorBody(TypeDef clazz, String fluent) {
-        Method constructor = findBuildableConstructor(clazz);
         List<Statement> statements = new ArrayList<Statement>();
         String ref = fluent;
 
@@ -767,7 +857,36 @@ public class ClazzAs {
             ref = "this";
         }
 
+        if (!isBuildCacheEnabled(clazz)) {
+            statements.addAll(toInstanceCopy(clazz, ref, null));
+            return statements;
+        }
+
+        //Nested values are only copied when needed, so that untouched values are reused as they are.
+        statements.addAll(toInstanceCopy(clazz, ref, false));
+        List<Statement> deferred = toInstanceCopy(clazz, ref, true);
+        if (!deferred.isEmpty()) {
+            statements.add(new StringStatement("if (!_defer(" + ref + ", instance)) {"));
+            statements.addAll(deferred);
+            statements.add(new StringStatement("}"));
+        }
+        return statements;
+    }
+
+    /**
+     * Creates the statements that copy the properties of an instance to the specified fluent.
+     * @param clazz     The type of the instance.
+     * @param ref       The expression that refers to the fluent.
+     * @param deferred  True to only copy properties that can be copied lazily, false to only copy the rest and null to copy all.
+     */
+    private static List<Statement> toInstanceCopy(TypeDef clazz, String ref, Boolean deferred) {
+        Method constructor = findBuildableConstructor(clazz);
+        List<Statement> statements = new ArrayList<Statement>();
+
         for (Property property : constructor.getArguments()) {
+            if (deferred != null && deferred != isCopiedLazily(clazz, clazz, property)) {
+                continue;
+            }
             Method getter = findGetter(clazz, property);
             if (getter != null) {
                 String cast = property.getTypeRef() instanceof TypeParamRef ? "(" + property.getTypeRef().toString() + ")" : "";
@@ -781,6 +900,9 @@ public class ClazzAs {
         //Iterate parent objects and check for properties with setters but not ctor arguments.
         while (target != null && !OBJECT.equals(target) && BuilderUtils.isBuildable(target)) {
             for (Property property : target.getProperties()) {
+                if (deferred != null && deferred != isCopiedLazily(clazz, target, property)) {
+                    continue;
+                }
                 if (!hasBuildableConstructorWithArgument(target, property) && hasSetter(target, property)) {
                     String withName = "with" + property.getNameCapitalized();
                     String getterName = BuilderUtils.findGetter(target, property).getName();
@@ -797,10 +919,33 @@ public class ClazzAs {
         return statements;
     }
 
-    private static List<Statement> toBuild(final TypeDef clazz, final TypeDef instanceType) {
+    /**
+     * Checks if a property can be copied lazily, when a fluent is created from an instance.
+     * Only nested buildables that the fluent of the instance type declares itself qualify, as only their methods copy the deferred values.
+     * @param clazz     The type of the instance.
+     * @param target    The type that declares the property.
+     * @param property  The property.
+     */
+    private static boolean isCopiedLazily(TypeDef clazz, TypeDef target, Property property) {
+        if (clazz != target || !isBuildCacheEnabled(clazz)) {
+            return false;
+        }
+        for (Property candidate : clazz.getProperties()) {
+            if (!candidate.isStatic() && candidate.getName().equals(property.getName())) {
+                return isBuildable(TypeAs.combine(TypeAs.UNWRAP_ARRAY_OF, TypeAs.UNWRAP_COLLECTION_OF, TypeAs.UNWRAP_OPTIONAL_OF).apply(candidate.getTypeRef()));
+            }
+        }
+        return false;
+    }
+
+    private static List<Statement> toBuild(final TypeDef clazz, final TypeDef instanceType, boolean cached) {
         Method constructor = findBuildableConstructor(clazz);
         List<Statement> statements = new ArrayList<Statement>();
 
+        if (cached) {
+            statements.add(new StringStatement(instanceType.getName() + " cached = _cachedBuild(fluent, " + instanceType.getName() + ".class); if (cached != null) { return cached; }"));
+        }
+
         statements.add(new StringStatement(new StringBuilder()
                 .append(instanceType.getName()).append(" buildable = new ").append(instanceType.getName()).append("(")
                 .append(StringUtils.join(constructor.getArguments(), new Function<Property, String>() {
@@ -837,10 +982,96 @@ public class ClazzAs {
         if (context.isValidationEnabled()) {
             statements.add(new StringStatement(context.getBuilderPackage() + ".ValidationUtils.validate(buildable);"));
         }
-        statements.add(new StringStatement("return buildable;"));
+        statements.add(new StringStatement(cached ? "return _cacheBuild(fluent, buildable);" : "return buildable;"));
         return statements;
     }
 
+    private static boolean isBuildCacheEnabled(TypeDef clazz) {
+        return BuilderUtils.isBuildCacheEnabled(clazz);
+    }
+
+    /**
+     * Checks if the builds of the specified type or of any buildable it can be nested in are cached.
+     * Only then do modifications of its fluent need to be tracked.
+     */
+    private static boolean isBuildCacheObserved(TypeDef clazz) {
+        return isBuildCacheEnabled(clazz)
+                || BuilderContextManager.getContext().getBuildableRepository().getBuildCacheObserved().contains(clazz.getFullyQualifiedName());
+    }
+
+    /**
+     * Creates a private field for state that only some fluents keep, e.g. for the build cache.
+     */
+    private static Property toStateField(String name, TypeRef type) {
+        return new PropertyBuilder()
+                .withName(name)
+                .withTypeRef(type)
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PRIVATE))
+                .build();
+    }
+
+    private static Method toStateGetter(String methodName, String fieldName, TypeRef type) {
+        return new MethodBuilder()
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                .withReturnType(type)
+                .withName(methodName)
+                .withNewBlock()
+                .addNewStringStatementStatement("return " + fieldName + ";")
+                .endBlock()
+                .build();
+    }
+
+    private static Method toStateSetter(String methodName, String fieldName, TypeRef type) {
+        return new MethodBuilder()
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PROTECTED))
+                .withReturnType(VOID)
+                .withName(methodName)
+                .addNewArgument().withName("value").withTypeRef(type).endArgument()
+                .withNewBlock()
+                .addNewStringStatementStatement("this." + fieldName + " = value;")
+                .endBlock()
+                .build();
+    }
+
+    private static Method prepend(Method method, String... prefix) {
+        List<Statement> statements = new ArrayList<Statement>();
+        for (String statement : prefix) {
+            statements.add(new StringStatement(statement));
+        }
+        statements.addAll(method.getBlock().getStatements());
+        return new MethodBuilder(method)
+                .withNewBlock()
+                .withStatements(statements)
+                .endBlock()
+                .build();
+    }
+
+
+    /**
+     * Creates the static field that holds the builder types reachable from the fluent of the specified type.
+     * Abstract types and interfaces can be backed by any {@link io.sundr.builder.VisitableBuilder}, so they are
+     * represented by the visitable builder interface.
+     */
+    private static Property toReachableTypes(TypeDef clazz) {
+        BuilderContext context = BuilderContextManager.getContext();
+        Set<String> classes = new TreeSet<String>();
+        for (TypeDef reachable : BuilderUtils.findReachableBuildables(clazz)) {
+            if (reachable.isAbstract() || reachable.isInterface()) {
+                classes.add(context.getVisitableBuilderInterface().getFullyQualifiedName() + ".class");
+            } else {
+                classes.add(TypeAs.BUILDER.apply(reachable).getFullyQualifiedName() + ".class");
+            }
+        }
+
+        return new PropertyBuilder()
+                .withName(REACHABLE_TYPES)
+                .withTypeRef(REACHABLE_TYPES_REF)
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL))
+                .addToAttributes(INIT, classes.isEmpty()
+                        ? "java.util.Collections.<Class>emptySet()"
+                        : "new java.util.HashSet<Class>(java.util.Arrays.<Class>asList(" + StringUtils.join(classes, ", ") + "))")
+                .build();
+    }
 
     private static List<Statement> toEquals(TypeDef type, Collection<Property> properties) {
         List<Statement> statements = new ArrayList<Statement>();
@@ -51,7 +51,7 @@ public class Descendants {
 
     private static final String VALUE = "value";
 
-    public static final Function<TypeDef, Set<TypeDef>> BUILDABLE_DECENDANTS = FunctionFactory.cache(new Function<TypeDef, Set<TypeDef>>() {
+    public static final Function<TypeDef, Set<TypeDef>> BUILDABLE_DECENDANTS = FunctionFactory.cache("Descendants.BUILDABLE_DECENDANTS", new Function<TypeDef, Set<TypeDef>>() {
         public Set<TypeDef> apply(TypeDef item) {
             if (item.equals(TypeDef.OBJECT)) {
                 return new LinkedHashSet<TypeDef>();
@@ -75,7 +75,7 @@ public class Descendants {
     /**
      * Find all buildable descendant equivalents of a property.
      */
-    public static Function<Property, Set<Property>> PROPERTY_BUILDABLE_DESCENDANTS = FunctionFactory.wrap(new Function<Property, Set<Property>>() {
+    public static Function<Property, Set<Property>> PROPERTY_BUILDABLE_DESCENDANTS = FunctionFactory.wrap("Descendants.PROPERTY_BUILDABLE_DESCENDANTS", new Function<Property, Set<Property>>() {
         public Set<Property> apply(Property property) {
             Set<Property> result = new LinkedHashSet<Property>();
             if (isNestingIgnored(property)) {
@@ -102,7 +102,7 @@ public class ToMethod {
     private static final String BUILDABLE_ARRAY_GETTER_TEXT = loadResourceQuietly(BUILDABLE_ARRAY_GETTER_SNIPPET);
     private static final String SIMPLE_ARRAY_GETTER_TEXT = loadResourceQuietly(SIMPLE_ARRAY_GETTER_SNIPPET);
 
-    public static final Function<Property, Method> WITH = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> WITH = FunctionFactory.cache("ToMethod.WITH", new Function<Property, Method>() {
 
         public Method apply(Property property) {
             TypeRef returnType = property.hasAttribute(GENERIC_TYPE_REF) ? property.getAttribute(GENERIC_TYPE_REF) : T_REF;
@@ -178,7 +178,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, Method> WITH_ARRAY = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> WITH_ARRAY = FunctionFactory.cache("ToMethod.WITH_ARRAY", new Function<Property, Method>() {
         public Method apply(Property property) {
             TypeRef returnType = property.hasAttribute(GENERIC_TYPE_REF) ? property.getAttribute(GENERIC_TYPE_REF) : T_REF;
 
@@ -203,7 +203,7 @@ public class ToMethod {
 
     });
 
-    public static final Function<Property, List<Method>> WITH_OPTIONAL = FunctionFactory.cache(new Function<Property, List<Method>>() {
+    public static final Function<Property, List<Method>> WITH_OPTIONAL = FunctionFactory.cache("ToMethod.WITH_OPTIONAL", new Function<Property, List<Method>>() {
         public List<Method> apply(final Property property) {
             List<Method> methods = new ArrayList<Method>();
             TypeRef unwrapped = TypeAs.combine(TypeAs.UNWRAP_OPTIONAL_OF).apply(property.getTypeRef());
@@ -253,7 +253,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, Method> HAS = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> HAS = FunctionFactory.cache("ToMethod.HAS", new Function<Property, Method>() {
         public Method apply(final Property property) {
             String prefix = "has";
             String methodName = prefix + property.getNameCapitalized();
@@ -281,7 +281,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, List<Method>> GETTER = FunctionFactory.cache(new Function<Property, List<Method>>() {
+    public static final Function<Property, List<Method>> GETTER = FunctionFactory.cache("ToMethod.GETTER", new Function<Property, List<Method>>() {
         public List<Method> apply(final Property property) {
             List<Method> methods = new ArrayList<Method>();
             TypeRef unwrapped = TypeAs.combine(TypeAs.UNWRAP_COLLECTION_OF, TypeAs.UNWRAP_ARRAY_OF, TypeAs.UNWRAP_OPTIONAL_OF).apply(property.getTypeRef());
@@ -461,7 +461,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, List<Method>> GETTER_ARRAY = FunctionFactory.cache(new Function<Property, List<Method>>() {
+    public static final Function<Property, List<Method>> GETTER_ARRAY = FunctionFactory.cache("ToMethod.GETTER_ARRAY", new Function<Property, List<Method>>() {
         public List<Method> apply(Property property) {
             List<Method> methods = new ArrayList<Method>();
             List<AnnotationRef> annotations = new ArrayList<AnnotationRef>();
@@ -562,7 +562,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, Method> SETTER = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> SETTER = FunctionFactory.cache("ToMethod.SETTER", new Function<Property, Method>() {
         public Method apply(Property property) {
             String methodName = "set" + property.getNameCapitalized();
             return new MethodBuilder()
@@ -577,7 +577,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, List<Method>> ADD_TO_COLLECTION = FunctionFactory.cache(new Function<Property, List<Method>>() {
+    public static final Function<Property, List<Method>> ADD_TO_COLLECTION = FunctionFactory.cache("ToMethod.ADD_TO_COLLECTION", new Function<Property, List<Method>>() {
         public List<Method> apply(final Property property) {
             List<Method> methods = new ArrayList<Method>();
             TypeRef baseType = TypeAs.UNWRAP_COLLECTION_OF.apply(property.getTypeRef());
@@ -653,14 +653,16 @@ public class ToMethod {
                 //We need to do it more
                 alsoImport.add(TypeAs.BUILDER.apply(targetType.getDefinition()).toInternalReference());
                 statements.add(new StringStatement("if (this." + propertyName + " == null) {this." + propertyName + " = " + property.getAttribute(LAZY_INIT) + ";}"));
-                statements.add(new StringStatement("for (" + targetClass + " item : items) {" + builderClass + " builder = new " + builderClass + "(item);_visitables.add(builder);this." + propertyName + ".add(builder);} return (" + returnType + ")this;"));
+                statements.add(new StringStatement("for (" + targetClass + " item : items) {" + builderClass + " builder = new " + builderClass + "(item);_addVisitable(null, builder, item);this." + propertyName + ".add(builder);} return (" + returnType + ")this;"));
 
                 addSingleItemAtIndex = new MethodBuilder(addSingleItemAtIndex)
                         .withParameters(parameters)
                         .editBlock()
                         .withStatements(
                                 new StringStatement("if (this." + propertyName + " == null) {this." + propertyName + " = " + property.getAttribute(LAZY_INIT) + ";}"),
-                                new StringStatement(builderClass + " builder = new " + builderClass + "(item);_visitables.add(index >= 0 ? index : _visitables.size(), builder);this." + propertyName + ".add(index >= 0 ? index : " + propertyName + ".size(), builder); return (" + returnType + ")this;"))
+                                new StringStatement(builderClass + " builder = new " + builderClass + "(item);"),
+                                new StringStatement("if (index < 0 || index == " + propertyName + ".size()) { _addVisitable(null, builder, item); " + propertyName + ".add(builder); } else { _addVisitable(" + propertyName + ".get(index), builder, item); " + propertyName + ".add(index, builder);}"),
+                                new StringStatement(" return (" + returnType + ")this;"))
                         .endBlock()
                         .build();
 
@@ -670,8 +672,7 @@ public class ToMethod {
                         .withStatements(
                                 new StringStatement("if (this." + propertyName + " == null) {this." + propertyName + " = " + property.getAttribute(LAZY_INIT) + ";}"),
                                 new StringStatement(builderClass + " builder = new " + builderClass + "(item);"),
-                                new StringStatement("if (index < 0 || index >= _visitables.size()) { _visitables.add(builder); } else { _visitables.set(index, builder);}"),
-                                new StringStatement("if (index < 0 || index >= " + propertyName + ".size()) { " + propertyName + ".add(builder); } else { " + propertyName + ".set(index, builder);}"),
+                                new StringStatement("if (index < 0 || index >= " + propertyName + ".size()) { _addVisitable(null, builder, item); " + propertyName + ".add(builder); } else { _replaceVisitable(" + propertyName + ".set(index, builder), builder, item);}"),
                                 new StringStatement(" return (" + returnType + ")this;"))
                         .endBlock()
                         .build();
@@ -749,7 +750,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, List<Method>> REMOVE_FROM_COLLECTION = FunctionFactory.cache(new Function<Property, List<Method>>() {
+    public static final Function<Property, List<Method>> REMOVE_FROM_COLLECTION = FunctionFactory.cache("ToMethod.REMOVE_FROM_COLLECTION", new Function<Property, List<Method>>() {
         public List<Method> apply(final Property property) {
             List<Method> methods = new ArrayList<Method>();
             TypeRef baseType = TypeAs.UNWRAP_COLLECTION_OF.apply(property.getTypeRef());
@@ -786,7 +787,7 @@ public class ToMethod {
 
                 //We need to do it more elegantly
                 alsoImport.add(TypeAs.BUILDER.apply(targetType.getDefinition()).toInternalReference());
-                statements.add(new StringStatement("for (" + targetClass + " item : items) {" + builderClass + " builder = new " + builderClass + "(item);_visitables.remove(builder);if (this." + propertyName + " != null) {this."+propertyName+".remove(builder);}} return (" + returnType + ")this;"));
+                statements.add(new StringStatement("for (" + targetClass + " item : items) {_removeVisitable(this." + propertyName + ", item, new " + builderClass + "(item));} return (" + returnType + ")this;"));
             } else if (!descendants.isEmpty()) {
                 final ClassRef targetType = (ClassRef) unwrapped;
                 parameters.addAll(targetType.getDefinition().getParameters());
@@ -835,7 +836,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, Method> ADD_MAP_TO_MAP = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> ADD_MAP_TO_MAP = FunctionFactory.cache("ToMethod.ADD_MAP_TO_MAP", new Function<Property, Method>() {
         public Method apply(Property property) {
             TypeRef returnType = property.hasAttribute(GENERIC_TYPE_REF) ? property.getAttribute(GENERIC_TYPE_REF) : T_REF;
             TypeRef mapType =  property.getTypeRef();
@@ -854,7 +855,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, Method> ADD_TO_MAP = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> ADD_TO_MAP = FunctionFactory.cache("ToMethod.ADD_TO_MAP", new Function<Property, Method>() {
         public Method apply(Property property) {
             TypeRef returnType = property.hasAttribute(GENERIC_TYPE_REF) ? property.getAttribute(GENERIC_TYPE_REF) : T_REF;
             if (!(property.getTypeRef() instanceof ClassRef)) {
@@ -882,7 +883,7 @@ public class ToMethod {
     });
 
 
-    public static final Function<Property, Method> REMOVE_MAP_FROM_MAP = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> REMOVE_MAP_FROM_MAP = FunctionFactory.cache("ToMethod.REMOVE_MAP_FROM_MAP", new Function<Property, Method>() {
 
         public Method apply(Property property) {
             TypeRef returnType = property.hasAttribute(GENERIC_TYPE_REF) ? property.getAttribute(GENERIC_TYPE_REF) : T_REF;
@@ -902,7 +903,7 @@ public class ToMethod {
         }
     });
 
-    public static final Function<Property, Method> REMOVE_FROM_MAP = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> REMOVE_FROM_MAP = FunctionFactory.cache("ToMethod.REMOVE_FROM_MAP", new Function<Property, Method>() {
 
         public Method apply(Property property) {
             TypeRef returnType = property.hasAttribute(GENERIC_TYPE_REF) ? property.getAttribute(GENERIC_TYPE_REF) : T_REF;
@@ -1347,7 +1348,7 @@ public class ToMethod {
 
     };
 
-    public static final Function<Property, Method> END = FunctionFactory.cache(new Function<Property, Method>() {
+    public static final Function<Property, Method> END = FunctionFactory.cache("ToMethod.END", new Function<Property, Method>() {
         public Method apply(Property property) {
             TypeDef originTypeDef = property.getAttribute(Constants.ORIGIN_TYPEDEF);
             String methodName = "end" + BuilderUtils.fullyQualifiedNameDiff(property.getTypeRef(), originTypeDef) + capitalizeFirst(IS_COLLECTION.apply(property.getTypeRef())
@@ -208,7 +208,7 @@ public class TypeAs {
     };
 
 
-    public static final Function<TypeRef, TypeRef> LIST_OF = FunctionFactory.cache(new Function<TypeRef, TypeRef>() {
+    public static final Function<TypeRef, TypeRef> LIST_OF = FunctionFactory.cache("TypeAs.LIST_OF", new Function<TypeRef, TypeRef>() {
         public TypeRef apply(TypeRef item) {
             return Collections.LIST.toReference(item);
             //TODO: Need a home for: .withDefaultImplementation(Constants.ARRAY_LIST)
@@ -216,7 +216,7 @@ public class TypeAs {
 
     });
 
-    public static final Function<TypeRef, TypeRef> ARRAY_AS_LIST = FunctionFactory.cache(new Function<TypeRef, TypeRef>() {
+    public static final Function<TypeRef, TypeRef> ARRAY_AS_LIST = FunctionFactory.cache("TypeAs.ARRAY_AS_LIST", new Function<TypeRef, TypeRef>() {
         public TypeRef apply(TypeRef item) {
             return LIST_OF.apply(UNWRAP_ARRAY_OF.apply(item));
 
@@ -281,7 +281,7 @@ public class TypeAs {
         }
     };
 
-    public static final Function<TypeRef, TypeRef> BOXED_OF = FunctionFactory.cache(new Function<TypeRef, TypeRef>() {
+    public static final Function<TypeRef, TypeRef> BOXED_OF = FunctionFactory.cache("TypeAs.BOXED_OF", new Function<TypeRef, TypeRef>() {
         public TypeRef apply(TypeRef type) {
             int index=0;
             for (TypeRef primitive : PRIMITIVE_TYPES) {
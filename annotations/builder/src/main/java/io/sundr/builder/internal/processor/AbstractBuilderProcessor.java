@@ -39,6 +39,7 @@ import io.sundr.codegen.model.TypeRef;
 import io.sundr.codegen.processor.JavaGeneratingProcessor;
 import io.sundr.codegen.utils.TypeUtils;
 
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -58,61 +59,97 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
 
     void generateLocalDependenciesIfNeeded() {
         BuilderContext context = BuilderContextManager.getContext();
+        //The builder package is shared by all buildables.
+        Element[] originatingElements = context.getBuildableRepository().getOriginatingElements();
             try {
                 if (context.getGenerateBuilderPackage() && !Constants.DEFAULT_BUILDER_PACKAGE.equals(context.getBuilderPackage())) {
 
                     generateFromClazz(context.getFluentInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getPredicateClass(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getVisitableInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
                     generateFromClazz(context.getVisitorInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
                     generateFromClazz(context.getTypedVisitorInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
+                    );
+
+                    generateFromClazz(context.getConcurrentVisitorInterface(),
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getPathAwareVisitorClass(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getVisitableBuilderInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
                     generateFromClazz(context.getBuilderInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getFluentInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getBaseFluentClass(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
+                    );
+
+                    generateFromClazz(context.getTraversalClass(),
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
+                    );
+
+                    generateFromClazz(context.getParallelTraversalClass(),
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
+                    );
+
+                    generateFromClazz(context.getVisitablesClass(),
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getNestedInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
                     generateFromClazz(context.getEditableInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
 
                     generateFromClazz(context.getFunctionInterface(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
                 }
 
                 if (context.isValidationEnabled() &&  !classExists(context.getBuilderPackage() + ".ValidationUtils") ) {
                     generateFromClazz(context.getValidationUtils(),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION,
+                            originatingElements
                     );
                 }
             } catch (Exception e) {
@@ -120,6 +157,30 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
             }
     }
 
+    /**
+     * The builder processors are registered as dynamic incremental processors in Gradle.
+     * They are aggregating, as a builder depends on all the buildables of the compilation, but only when enabled
+     * through the {@link Constants#INCREMENTAL_OPTION}.
+     */
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<String>(super.getSupportedOptions());
+        options.add(Constants.INCREMENTAL_OPTION);
+        options.add(Constants.PARALLELISM_OPTION);
+        if (processingEnv != null && Boolean.parseBoolean(processingEnv.getOptions().get(Constants.INCREMENTAL_OPTION))) {
+            options.add(Constants.GRADLE_AGGREGATING_OPTION);
+        }
+        return options;
+    }
+
+    /**
+     * The default source file template is rendered directly, custom templates go through velocity.
+     */
+    @Override
+    protected boolean isRenderable(String resourceName) {
+        return Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION.equals(resourceName);
+    }
+
 
     static boolean classExists(String c) {
        try {
@@ -298,11 +359,12 @@ public abstract class AbstractBuilderProcessor extends JavaGeneratingProcessor {
         for (TypeDef typeDef : builderContext.getBuildableRepository().getBuildables()) {
             try {
                 if (typeDef.isInterface()) {
+                    Element[] originatingElements = builderContext.getBuildableRepository().getOriginatingElements(typeDef);
                     typeDef = ClazzAs.POJO.apply(typeDef);
                     builderContext.getDefinitionRepository().register(typeDef);
-                    builderContext.getBuildableRepository().register(typeDef);
+                    builderContext.getBuildableRepository().register(typeDef, originatingElements);
                     generateFromClazz(typeDef,
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 }
             } catch (IOException e) {
                 throw new RuntimeException(e);
@@ -16,6 +16,8 @@
 
 package io.sundr.builder.internal.processor;
 
+import io.sundr.CacheScope;
+import io.sundr.FunctionMetrics;
 import io.sundr.builder.Constants;
 import io.sundr.builder.annotations.Buildable;
 import io.sundr.builder.annotations.Inline;
@@ -36,18 +38,56 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static io.sundr.builder.Constants.BUILDABLE;
 import static io.sundr.builder.Constants.BUILDABLE_ENABLED;
+import static io.sundr.builder.Constants.BUILD_CACHE_ENABLED;
 import static io.sundr.builder.Constants.EDIATABLE_ENABLED;
 import static io.sundr.builder.Constants.VALIDATION_ENABLED;
 
 @SupportedAnnotationTypes("io.sundr.builder.annotations.Buildable")
 public class BuildableProcessor extends AbstractBuilderProcessor {
+
+    /**
+     * The cache scope of the current compilation, which stays open across its rounds.
+     */
+    private CacheScope cacheScope;
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (cacheScope == null) {
+            cacheScope = CacheScope.open(processingEnv.getElementUtils());
+        }
+        try {
+            return processRound(annotations, env);
+        } finally {
+            if (env.processingOver()) {
+                cacheScope.close();
+                cacheScope = null;
+                //Don't keep the state of a finished compilation around on this thread.
+                BuilderContextManager.bind(null);
+            }
+            if (env.processingOver() && FunctionMetrics.isEnabled()) {
+                String report = FunctionMetrics.reportAndReset();
+                if (!report.isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Function metrics:\n" + report);
+                }
+            }
+        }
+    }
+
+    private boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
         Elements elements = processingEnv.getElementUtils();
         Types types = processingEnv.getTypeUtils();
         Filer filer = processingEnv.getFiler();
@@ -67,20 +107,22 @@ public class BuildableProcessor extends AbstractBuilderProcessor {
                                 .addToAttributes(BUILDABLE, buildable)
                                 .addToAttributes(EDIATABLE_ENABLED, buildable.editableEnabled())
                                 .addToAttributes(VALIDATION_ENABLED, buildable.validationEnabled())
+                                .addToAttributes(BUILD_CACHE_ENABLED, buildable.buildCacheEnabled())
                                 .build();
 
                     ctx.getDefinitionRepository().register(b);
-                    ctx.getBuildableRepository().register(b);
+                    ctx.getBuildableRepository().register(b, ModelUtils.getClassElement(element));
 
                 for (TypeElement ref : BuilderUtils.getBuildableReferences(ctx, buildable)) {
                     TypeDef r = new TypeDefBuilder(ElementTo.TYPEDEF.apply(ModelUtils.getClassElement(ref)))
                             .addToAttributes(BUILDABLE, buildable)
                             .addToAttributes(EDIATABLE_ENABLED, buildable.editableEnabled())
                             .addToAttributes(VALIDATION_ENABLED, buildable.validationEnabled())
+                            .addToAttributes(BUILD_CACHE_ENABLED, buildable.buildCacheEnabled())
                             .build();
 
                     ctx.getDefinitionRepository().register(r);
-                    ctx.getBuildableRepository().register(r);
+                    ctx.getBuildableRepository().register(r, ref, ModelUtils.getClassElement(element));
                 }
             }
         }
@@ -94,50 +136,159 @@ public class BuildableProcessor extends AbstractBuilderProcessor {
         ctx.getDefinitionRepository().updateReferenceMap();
         generatePojos(ctx);
 
-        int total = ctx.getBuildableRepository().getBuildables().size();
-        int count = 0;
-        for (TypeDef typeDef : ctx.getBuildableRepository().getBuildables()) {
-            try {
-                double percentage = 100 * (count++) / total;
-                System.err.println(Math.round(percentage)+"%: " + typeDef.getFullyQualifiedName());
+        List<TypeDef> buildables = new ArrayList<TypeDef>(ctx.getBuildableRepository().getBuildables());
+        int parallelism = getParallelism();
+        ExecutorService executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        try {
+            //First stage: derive the models of all buildables. Inlineables are derived on this thread, as they may need the compiler model which is not thread safe.
+            List<Future<List<TypeDef>>> derivations = new ArrayList<Future<List<TypeDef>>>();
+            for (TypeDef typeDef : buildables) {
+                derivations.add(submit(executor, bound(ctx, cacheScope, deriveTask(typeDef))));
+            }
+            List<List<TypeDef>> models = new ArrayList<List<TypeDef>>();
+            for (int i = 0; i < buildables.size(); i++) {
+                List<TypeDef> derived = new ArrayList<TypeDef>(await(derivations.get(i)));
+                TypeDef typeDef = buildables.get(i);
+                Buildable buildable = typeDef.getAttribute(BUILDABLE);
+                if (buildable != null && !typeDef.isInterface() && !typeDef.isAbstract()) {
+                    for (final Inline inline : buildable.inline()) {
+                        derived.add(inlineableOf(ctx, typeDef, inline));
+                    }
+                }
+                models.add(derived);
+            }
 
-                generateFromClazz(ClazzAs.FLUENT_INTERFACE.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+            //Second stage: render all sources and write them in the order of the buildables.
+            List<List<Future<String>>> sources = new ArrayList<List<Future<String>>>();
+            for (List<TypeDef> derived : models) {
+                List<Future<String>> rendered = new ArrayList<Future<String>>();
+                for (TypeDef model : derived) {
+                    rendered.add(submit(executor, bound(ctx, cacheScope, renderTask(model))));
+                }
+                sources.add(rendered);
+            }
 
-                if (typeDef.isInterface()) {
-                    continue;
+            int total = buildables.size();
+            for (int i = 0; i < total; i++) {
+                double percentage = 100 * i / total;
+                System.err.println(Math.round(percentage)+"%: " + buildables.get(i).getFullyQualifiedName());
+                List<TypeDef> derived = models.get(i);
+                Element[] originatingElements = ctx.getBuildableRepository().getOriginatingElements(buildables.get(i));
+                for (int j = 0; j < derived.size(); j++) {
+                    writeClazz(derived.get(j), await(sources.get(i).get(j)), originatingElements);
                 }
+                //Don't hold on to sources that have already been written.
+                sources.set(i, null);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        System.err.println("100%: Builder generation complete.");
+        return true;
+    }
 
-                generateFromClazz(ClazzAs.FLUENT_IMPL.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+    /**
+     * @return  The number of threads set through the {@link Constants#PARALLELISM_OPTION}, or 1 if not set.
+     */
+    private int getParallelism() {
+        String value = processingEnv.getOptions().get(Constants.PARALLELISM_OPTION);
+        if (value == null || value.trim().isEmpty()) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Ignoring invalid " + Constants.PARALLELISM_OPTION + ": " + value);
+            return 1;
+        }
+    }
+
+    /**
+     * Submits the task to the executor, or runs it on the current thread if there is no executor.
+     */
+    private static <T> Future<T> submit(ExecutorService executor, Callable<T> task) {
+        if (executor != null) {
+            return executor.submit(task);
+        }
+        FutureTask<T> future = new FutureTask<T>(task);
+        future.run();
+        return future;
+    }
 
+    /**
+     * Derives the models of the fluent, the builder and the editables of the specified buildable.
+     */
+    private static Callable<List<TypeDef>> deriveTask(final TypeDef typeDef) {
+        return new Callable<List<TypeDef>>() {
+            @Override
+            public List<TypeDef> call() {
+                List<TypeDef> models = new ArrayList<TypeDef>();
+                models.add(ClazzAs.FLUENT_INTERFACE.apply(typeDef));
+                if (typeDef.isInterface()) {
+                    return models;
+                }
+
+                models.add(ClazzAs.FLUENT_IMPL.apply(typeDef));
                 if (typeDef.isAbstract()) {
-                    continue;
+                    return models;
                 }
 
                 if (typeDef.getAttributes().containsKey(EDIATABLE_ENABLED) && (Boolean) typeDef.getAttributes().get(EDIATABLE_ENABLED)) {
-                    generateFromClazz(ClazzAs.EDITABLE_BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-
-                    generateFromClazz(ClazzAs.EDITABLE.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                    models.add(ClazzAs.EDITABLE_BUILDER.apply(typeDef));
+                    models.add(ClazzAs.EDITABLE.apply(typeDef));
                 } else {
-                    generateFromClazz(ClazzAs.BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                    models.add(ClazzAs.BUILDER.apply(typeDef));
                 }
+                return models;
+            }
+        };
+    }
 
-                Buildable buildable = typeDef.getAttribute(BUILDABLE);
-                if (buildable != null) {
-                    for (final Inline inline : buildable.inline()) {
-                        generateFromClazz(inlineableOf(ctx, typeDef, inline),
-                                Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
-                    }
+    private Callable<String> renderTask(final TypeDef model) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                return renderClazz(model, Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+            }
+        };
+    }
+
+    /**
+     * Binds the builder context and the cache scope of the compilation to the thread running the task.
+     */
+    private static <T> Callable<T> bound(final BuilderContext ctx, final CacheScope scope, final Callable<T> task) {
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                BuilderContext previous = BuilderContextManager.bind(ctx);
+                CacheScope previousScope = CacheScope.bind(scope);
+                try {
+                    return task.call();
+                } finally {
+                    CacheScope.bind(previousScope);
+                    BuilderContextManager.bind(previous);
                 }
-            } catch (IOException e) {
-                throw new RuntimeException(e);
             }
+        };
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
         }
-        System.err.println("100%: Builder generation complete.");
-        return true;
     }
 }
@@ -16,6 +16,8 @@
 
 package io.sundr.builder.internal.processor;
 
+import io.sundr.CacheScope;
+import io.sundr.FunctionMetrics;
 import io.sundr.builder.Constants;
 import io.sundr.builder.annotations.ExternalBuildables;
 import io.sundr.builder.annotations.Inline;
@@ -36,18 +38,47 @@ import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import static io.sundr.builder.Constants.BUILD_CACHE_ENABLED;
 import static io.sundr.builder.Constants.EDIATABLE_ENABLED;
 import static io.sundr.builder.Constants.VALIDATION_ENABLED;
 
 @SupportedAnnotationTypes("io.sundr.builder.annotations.ExternalBuildables")
 public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
+    /**
+     * The cache scope of the current compilation, which stays open across its rounds.
+     */
+    private CacheScope cacheScope;
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (cacheScope == null) {
+            cacheScope = CacheScope.open(processingEnv.getElementUtils());
+        }
+        try {
+            return processRound(annotations, env);
+        } finally {
+            if (env.processingOver()) {
+                cacheScope.close();
+                cacheScope = null;
+                //Don't keep the state of a finished compilation around on this thread.
+                BuilderContextManager.bind(null);
+            }
+            if (env.processingOver() && FunctionMetrics.isEnabled()) {
+                String report = FunctionMetrics.reportAndReset();
+                if (!report.isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Function metrics:\n" + report);
+                }
+            }
+        }
+    }
+
+    private boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
         Elements elements = processingEnv.getElementUtils();
         Types types = processingEnv.getTypeUtils();
         Filer filer = processingEnv.getFiler();
@@ -87,10 +118,11 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                         TypeDef b = new TypeDefBuilder(ElementTo.TYPEDEF.apply(ModelUtils.getClassElement(typeElement)))
                                 .addToAttributes(EDIATABLE_ENABLED, generated.editableEnabled())
                                 .addToAttributes(VALIDATION_ENABLED, generated.validationEnabled())
+                                .addToAttributes(BUILD_CACHE_ENABLED, generated.buildCacheEnabled())
                                 .build();
 
                         ctx.getDefinitionRepository().register(b);
-                        ctx.getBuildableRepository().register(b);
+                        ctx.getBuildableRepository().register(b, element);
                     }
                 }
 
@@ -98,10 +130,11 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                     TypeDef r = new TypeDefBuilder(ElementTo.TYPEDEF.apply(ModelUtils.getClassElement(ref)))
                             .addToAttributes(EDIATABLE_ENABLED, generated.editableEnabled())
                             .addToAttributes(VALIDATION_ENABLED, generated.validationEnabled())
+                            .addToAttributes(BUILD_CACHE_ENABLED, generated.buildCacheEnabled())
                             .build();
 
                     ctx.getDefinitionRepository().register(r);
-                    ctx.getBuildableRepository().register(r);
+                    ctx.getBuildableRepository().register(r, element);
                 }
             }
         }
@@ -123,31 +156,32 @@ public class ExternalBuildableProcessor extends AbstractBuilderProcessor {
                 double percentage = 100 * (count++) / total;
                 System.err.println(Math.round(percentage)+"%: " + typeDef.getFullyQualifiedName());
 
+                Element[] originatingElements = ctx.getBuildableRepository().getOriginatingElements(typeDef);
                 generateFromClazz(ClazzAs.FLUENT_INTERFACE.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
 
                 if (typeDef.isInterface()) {
                     continue;
                 }
 
                 generateFromClazz(ClazzAs.FLUENT_IMPL.apply(typeDef),
-                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                        Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
 
                 if (generated.editableEnabled()) {
                     generateFromClazz(ClazzAs.EDITABLE_BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
 
                     generateFromClazz(ClazzAs.EDITABLE.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 } else {
                     generateFromClazz(ClazzAs.BUILDER.apply(typeDef),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 }
 
 
                 for (final Inline inline : generated.inline()) {
                     generateFromClazz(inlineableOf(ctx, typeDef, inline),
-                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION);
+                            Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION, originatingElements);
                 }
             } catch (IOException e) {
                 throw new RuntimeException(e);
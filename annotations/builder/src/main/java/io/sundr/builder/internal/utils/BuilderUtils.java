@@ -23,6 +23,7 @@ import io.sundr.builder.annotations.*;
 import io.sundr.builder.internal.BuildableRepository;
 import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
+import io.sundr.builder.internal.functions.Descendants;
 import io.sundr.builder.internal.functions.TypeAs;
 import io.sundr.codegen.DefinitionRepository;
 import io.sundr.codegen.functions.ClassTo;
@@ -47,9 +48,11 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.MirroredTypeException;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -102,6 +105,69 @@ public class BuilderUtils {
         return null;
     }
 
+    public static boolean isBuildCacheEnabled(TypeDef clazz) {
+        return clazz.getAttributes().containsKey(Constants.BUILD_CACHE_ENABLED) && (Boolean) clazz.getAttributes().get(Constants.BUILD_CACHE_ENABLED);
+    }
+
+    /**
+     * Finds all the buildable types that can be reached from the properties of the specified type.
+     * The search follows buildable super classes and buildable descendants of the property types.
+     * @param clazz The type to start from.
+     * @return      The reachable buildable types.
+     */
+    public static Set<TypeDef> findReachableBuildables(TypeDef clazz) {
+        BuildableRepository repository =  BuilderContextManager.getContext().getBuildableRepository();
+        Set<TypeDef> reachable = new LinkedHashSet<TypeDef>();
+        Set<String> visited = new HashSet<String>();
+        Deque<TypeDef> queue = new ArrayDeque<TypeDef>();
+        queue.add(clazz);
+
+        while (!queue.isEmpty()) {
+            TypeDef current = queue.poll();
+            if (!visited.add(current.getFullyQualifiedName())) {
+                continue;
+            }
+
+            for (Property property : current.getProperties()) {
+                if (property.isStatic()) {
+                    continue;
+                }
+                TypeRef typeRef = TypeAs.UNWRAP_ARRAY_OF.apply(property.getTypeRef());
+                if (typeRef instanceof ClassRef && ((ClassRef) typeRef).getArguments().isEmpty()
+                        && (Collections.IS_COLLECTION.apply(typeRef) || TypeUtils.isOptional(typeRef))) {
+                    //Raw collections and optionals don't tell what they hold, so there is nothing to follow.
+                    continue;
+                }
+                TypeRef unwrapped = TypeAs.combine(UNWRAP_COLLECTION_OF, UNWRAP_OPTIONAL_OF).apply(typeRef);
+                if (!(unwrapped instanceof ClassRef)) {
+                    continue;
+                }
+
+                //The property type itself may not be buildable, but it may still hold buildable descendants.
+                TypeDef definition = repository.isBuildable(unwrapped)
+                        ? repository.getBuildable(unwrapped)
+                        : ((ClassRef) unwrapped).getDefinition();
+                if (definition == null) {
+                    continue;
+                }
+                if (repository.isBuildable(definition)) {
+                    reachable.add(definition);
+                    queue.add(definition);
+                }
+                for (TypeDef descendant : Descendants.BUILDABLE_DECENDANTS.apply(definition)) {
+                    reachable.add(descendant);
+                    queue.add(descendant);
+                }
+            }
+
+            TypeDef superClass = findBuildableSuperClass(current);
+            if (superClass != null) {
+                queue.add(superClass);
+            }
+        }
+        return reachable;
+    }
+
     public static Method findBuildableConstructor(TypeDef clazz) {
         //1st pass go for annotated method
         for (Method candidate : clazz.getConstructors()) {
@@ -22,14 +22,28 @@ import com.sun.tools.javac.util.Context;
 import io.sundr.builder.Constants;
 import io.sundr.builder.internal.BuilderContext;
 import io.sundr.builder.internal.BuilderContextManager;
+import io.sundr.codegen.functions.ClassTo;
 import io.sundr.codegen.model.Method;
 import io.sundr.codegen.model.MethodBuilder;
+import io.sundr.codegen.model.Property;
+import io.sundr.codegen.model.PropertyBuilder;
+import io.sundr.codegen.model.Statement;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
+import io.sundr.codegen.model.TypeRef;
+import io.sundr.codegen.utils.TypeUtils;
 import org.junit.Test;
 
+import javax.lang.model.element.Modifier;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 
 public class ClazzAsTest {
 
@@ -59,4 +73,116 @@ public class ClazzAsTest {
         TypeDef result = ClazzAs.FLUENT_IMPL.apply(type);
         System.out.println(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMutatorsMarkDirtyOnlyWithBuildCache() {
+        BuilderContext builderContext = BuilderContextManager.create(elements, types);
+        TypeDef cached = buildableWithName("CachedClass", true);
+        TypeDef uncached = buildableWithName("UncachedClass", false);
+        builderContext.getBuildableRepository().register(cached);
+        builderContext.getBuildableRepository().register(uncached);
+
+        assertEquals("_markDirty();", firstStatement(ClazzAs.FLUENT_IMPL.apply(cached), "withName"));
+        assertEquals("this.name=name; return (A) this;", firstStatement(ClazzAs.FLUENT_IMPL.apply(uncached), "withName"));
+    }
+
+    @Test
+    public void testBuildCacheStateIsOnlyGeneratedWhenEnabled() {
+        BuilderContext builderContext = BuilderContextManager.create(elements, types);
+        TypeDef cached = buildableWithName("StatefulClass", true);
+        TypeDef uncached = buildableWithName("StatelessClass", false);
+        builderContext.getBuildableRepository().register(cached);
+        builderContext.getBuildableRepository().register(uncached);
+
+        assertEquals(Arrays.asList("name", "_parent", "_built"), propertyNames(ClazzAs.FLUENT_IMPL.apply(cached)));
+        assertEquals(Arrays.asList("name"), propertyNames(ClazzAs.FLUENT_IMPL.apply(uncached)));
+    }
+
+    @Test
+    public void testBuilderConstructorsDoNotSeedBuildCache() {
+        BuilderContext builderContext = BuilderContextManager.create(elements, types);
+        TypeDef cached = buildableWithName("SeededClass", true);
+        builderContext.getBuildableRepository().register(cached);
+
+        for (Method constructor : ClazzAs.BUILDER.apply(cached).getConstructors()) {
+            for (Statement statement : constructor.getBlock().getStatements()) {
+                assertFalse(statement.toString().contains("_cacheBuild"));
+            }
+        }
+    }
+
+    @Test
+    public void testInheritedMutatorsMarkDirtyWithBuildCache() {
+        BuilderContext builderContext = BuilderContextManager.create(elements, types);
+        TypeDef parent = buildableWithName("ParentClass", false);
+        TypeDef child = new TypeDefBuilder(buildableWithName("ChildClass", false))
+                .withExtendsList(parent.toInternalReference())
+                .build();
+        TypeDef holder = buildable("HolderClass", true, "child", child.toInternalReference());
+        builderContext.getBuildableRepository().register(parent);
+        builderContext.getBuildableRepository().register(child);
+        builderContext.getBuildableRepository().register(holder);
+
+        assertEquals("_markDirty();", firstStatement(ClazzAs.FLUENT_IMPL.apply(child), "withName"));
+        assertEquals("_markDirty();", firstStatement(ClazzAs.FLUENT_IMPL.apply(parent), "withName"));
+    }
+
+    private TypeDef buildableWithName(String name, boolean buildCacheEnabled) {
+        return buildable(name, buildCacheEnabled, "name", ClassTo.TYPEREF.apply(String.class));
+    }
+
+    private TypeDef buildable(String name, boolean buildCacheEnabled, String propertyName, TypeRef propertyType) {
+        Property property = new PropertyBuilder()
+                .withName(propertyName)
+                .withTypeRef(propertyType)
+                .build();
+
+        TypeDef type = new TypeDefBuilder()
+                .withName(name)
+                .withPackageName(getClass().getPackage().getName())
+                .withParameters()
+                .withProperties(property)
+                .addToAttributes(Constants.BUILD_CACHE_ENABLED, buildCacheEnabled)
+                .build();
+
+        Method constructor = new MethodBuilder()
+                .withReturnType(type.toReference())
+                .withAnnotations(Constants.BUILDABLE_ANNOTATION)
+                .addNewArgument().withName(propertyName).withTypeRef(property.getTypeRef()).endArgument()
+                .build();
+
+        Method getter = new MethodBuilder()
+                .withModifiers(TypeUtils.modifiersToInt(Modifier.PUBLIC))
+                .withName("get" + property.getNameCapitalized())
+                .withReturnType(property.getTypeRef())
+                .withNewBlock()
+                .addNewStringStatementStatement("return " + propertyName + ";")
+                .endBlock()
+                .build();
+
+        return new TypeDefBuilder(type)
+                .withConstructors(constructor)
+                .withMethods(getter)
+                .build();
+    }
+
+    private static List<String> propertyNames(TypeDef type) {
+        List<String> names = new ArrayList<String>();
+        for (Property property : type.getProperties()) {
+            if (!property.isStatic()) {
+                names.add(property.getName());
+            }
+        }
+        return names;
+    }
+
+    private static String firstStatement(TypeDef type, String methodName) {
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return method.getBlock().getStatements().get(0).toString();
+            }
+        }
+        assertNotNull("Method " + methodName + " not found in " + type.getName(), null);
+        return null;
+    }
+}
@@ -28,9 +28,24 @@ import io.sundr.codegen.model.TypeRef;
 
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
+import static org.junit.Assert.assertTrue;
+
 public class AbstractProcessorTest {
 
     final Context context = new Context();
@@ -88,4 +103,62 @@ public class AbstractProcessorTest {
         }
         return false;
     }
+
+    /**
+     * Compiles the specified sources with the {@link BuildableProcessor} and fails if the compilation fails.
+     * @param sources   The sources keyed by their fully qualified class name.
+     * @param processorOptions  The processor options, e.g. "-Akey=value".
+     * @return          The directory that holds the generated sources and classes.
+     */
+    static File compile(Map<String, String> sources, String... processorOptions) throws IOException {
+        File dir = createTempDir();
+        List<File> files = new ArrayList<File>();
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            File file = new File(dir, entry.getKey().replace('.', File.separatorChar) + ".java");
+            file.getParentFile().mkdirs();
+            write(file, entry.getValue());
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            List<String> options = new ArrayList<String>(Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-processor", BuildableProcessor.class.getName(),
+                    "-d", dir.getAbsolutePath(),
+                    "-s", dir.getAbsolutePath()));
+            options.addAll(Arrays.asList(processorOptions));
+
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(files)).call();
+            StringBuilder errors = new StringBuilder();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    errors.append(diagnostic).append("\n");
+                }
+            }
+            assertTrue(errors.toString(), success);
+            return dir;
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private static File createTempDir() throws IOException {
+        File dir = File.createTempFile("processor-test", "");
+        if (!dir.delete() || !dir.mkdirs()) {
+            throw new IOException("Failed to create directory:" + dir);
+        }
+        return dir;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
 }
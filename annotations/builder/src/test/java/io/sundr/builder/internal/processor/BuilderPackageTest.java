@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal.processor;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertTrue;
+
+public class BuilderPackageTest {
+
+    private static final String CIRCLE = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "\n" +
+            "@Buildable(generateBuilderPackage = true, builderPackage = \"testpackage.builder\")\n" +
+            "public class Circle {\n" +
+            "\n" +
+            "    private final int radius;\n" +
+            "    private final boolean filled;\n" +
+            "\n" +
+            "    public Circle(int radius, boolean filled) {\n" +
+            "        this.radius = radius;\n" +
+            "        this.filled = filled;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int getRadius() {\n" +
+            "        return radius;\n" +
+            "    }\n" +
+            "\n" +
+            "    public boolean isFilled() {\n" +
+            "        return filled;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void testGeneratedBuilderPackageCompiles() throws IOException {
+        File dir = AbstractProcessorTest.compile(Collections.singletonMap("testpackage.Circle", CIRCLE));
+        assertTrue(new File(dir, "testpackage/builder/BaseFluent.class").exists());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal.processor;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompilationIsolationTest {
+
+    private static final String SHAPE = "package testpackage;\n" +
+            "\n" +
+            "public interface Shape {\n" +
+            "}\n";
+
+    private static final String CANVAS = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "import java.util.List;\n" +
+            "\n" +
+            "@Buildable\n" +
+            "public class Canvas {\n" +
+            "\n" +
+            "    private final List<Shape> shapes;\n" +
+            "\n" +
+            "    public Canvas(List<Shape> shapes) {\n" +
+            "        this.shapes = shapes;\n" +
+            "    }\n" +
+            "\n" +
+            "    public List<Shape> getShapes() {\n" +
+            "        return shapes;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void testCompilationsDontSeeEachOthersBuildables() throws IOException {
+        Map<String, String> circles = shapes("Circle");
+        Map<String, String> squares = shapes("Square");
+
+        File first = AbstractProcessorTest.compile(circles);
+        File second = AbstractProcessorTest.compile(squares);
+        File third = AbstractProcessorTest.compile(circles);
+
+        String squareCanvas = new String(read(second, "testpackage/CanvasFluentImpl.java"), "UTF-8");
+        assertTrue(squareCanvas.contains("addToSquareShapes"));
+        assertFalse(squareCanvas.contains("Circle"));
+
+        assertArrayEquals(read(first, "testpackage/CanvasFluentImpl.java"), read(third, "testpackage/CanvasFluentImpl.java"));
+        assertArrayEquals(read(first, "testpackage/CanvasFluent.java"), read(third, "testpackage/CanvasFluent.java"));
+    }
+
+    private static Map<String, String> shapes(String name) {
+        Map<String, String> sources = new LinkedHashMap<String, String>();
+        sources.put("testpackage.Shape", SHAPE);
+        sources.put("testpackage.Canvas", CANVAS);
+        sources.put("testpackage." + name, "package testpackage;\n" +
+                "\n" +
+                "import io.sundr.builder.annotations.Buildable;\n" +
+                "\n" +
+                "@Buildable\n" +
+                "public class " + name + " implements Shape {\n" +
+                "\n" +
+                "    private final int size;\n" +
+                "\n" +
+                "    public " + name + "(int size) {\n" +
+                "        this.size = size;\n" +
+                "    }\n" +
+                "\n" +
+                "    public int getSize() {\n" +
+                "        return size;\n" +
+                "    }\n" +
+                "}\n");
+        return sources;
+    }
+
+    private static byte[] read(File dir, String path) throws IOException {
+        return Files.readAllBytes(new File(dir, path).toPath());
+    }
+}
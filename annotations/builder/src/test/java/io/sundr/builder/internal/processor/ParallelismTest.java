@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal.processor;
+
+import io.sundr.builder.Constants;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelismTest {
+
+    private static final String SHAPE = "package testpackage;\n" +
+            "\n" +
+            "public interface Shape {\n" +
+            "    String getColor();\n" +
+            "}\n";
+
+    private static final String ABSTRACT_SHAPE = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "\n" +
+            "@Buildable\n" +
+            "public abstract class AbstractShape implements Shape {\n" +
+            "\n" +
+            "    private final String color;\n" +
+            "\n" +
+            "    public AbstractShape(String color) {\n" +
+            "        this.color = color;\n" +
+            "    }\n" +
+            "\n" +
+            "    public String getColor() {\n" +
+            "        return color;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String CIRCLE = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "\n" +
+            "@Buildable\n" +
+            "public class Circle extends AbstractShape {\n" +
+            "\n" +
+            "    private final int radius;\n" +
+            "\n" +
+            "    public Circle(String color, int radius) {\n" +
+            "        super(color);\n" +
+            "        this.radius = radius;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int getRadius() {\n" +
+            "        return radius;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String SQUARE = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "\n" +
+            "@Buildable(editableEnabled = true)\n" +
+            "public class Square extends AbstractShape {\n" +
+            "\n" +
+            "    private final int side;\n" +
+            "\n" +
+            "    public Square(String color, int side) {\n" +
+            "        super(color);\n" +
+            "        this.side = side;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int getSide() {\n" +
+            "        return side;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String CANVAS = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "import java.util.List;\n" +
+            "import java.util.Map;\n" +
+            "\n" +
+            "@Buildable\n" +
+            "public class Canvas {\n" +
+            "\n" +
+            "    private final Shape background;\n" +
+            "    private final List<Shape> shapes;\n" +
+            "    private final Map<String, String> labels;\n" +
+            "\n" +
+            "    public Canvas(Shape background, List<Shape> shapes, Map<String, String> labels) {\n" +
+            "        this.background = background;\n" +
+            "        this.shapes = shapes;\n" +
+            "        this.labels = labels;\n" +
+            "    }\n" +
+            "\n" +
+            "    public Shape getBackground() {\n" +
+            "        return background;\n" +
+            "    }\n" +
+            "\n" +
+            "    public List<Shape> getShapes() {\n" +
+            "        return shapes;\n" +
+            "    }\n" +
+            "\n" +
+            "    public Map<String, String> getLabels() {\n" +
+            "        return labels;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String ARTIST = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "import java.util.List;\n" +
+            "\n" +
+            "@Buildable(buildCacheEnabled = true)\n" +
+            "public class Artist {\n" +
+            "\n" +
+            "    private final String name;\n" +
+            "    private final List<Canvas> canvases;\n" +
+            "\n" +
+            "    public Artist(String name, List<Canvas> canvases) {\n" +
+            "        this.name = name;\n" +
+            "        this.canvases = canvases;\n" +
+            "    }\n" +
+            "\n" +
+            "    public String getName() {\n" +
+            "        return name;\n" +
+            "    }\n" +
+            "\n" +
+            "    public List<Canvas> getCanvases() {\n" +
+            "        return canvases;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void testParallelDerivationRendersIdenticalSources() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<String, String>();
+        sources.put("testpackage.Shape", SHAPE);
+        sources.put("testpackage.AbstractShape", ABSTRACT_SHAPE);
+        sources.put("testpackage.Circle", CIRCLE);
+        sources.put("testpackage.Square", SQUARE);
+        sources.put("testpackage.Canvas", CANVAS);
+        sources.put("testpackage.Artist", ARTIST);
+
+        Map<String, byte[]> sequential = generatedSources(AbstractProcessorTest.compile(sources, "-A" + Constants.PARALLELISM_OPTION + "=1"), sources);
+        Map<String, byte[]> parallel = generatedSources(AbstractProcessorTest.compile(sources, "-A" + Constants.PARALLELISM_OPTION + "=4"), sources);
+
+        assertTrue(sequential.containsKey("testpackage/CanvasFluentImpl.java"));
+        assertEquals(sequential.keySet(), parallel.keySet());
+        for (Map.Entry<String, byte[]> entry : sequential.entrySet()) {
+            assertArrayEquals(entry.getKey(), entry.getValue(), parallel.get(entry.getKey()));
+        }
+    }
+
+    private static Map<String, byte[]> generatedSources(File dir, Map<String, String> inputs) throws IOException {
+        Map<String, byte[]> result = new TreeMap<String, byte[]>();
+        collect(dir, dir, result);
+        for (String input : inputs.keySet()) {
+            result.remove(input.replace('.', '/') + ".java");
+        }
+        return result;
+    }
+
+    private static void collect(File root, File dir, Map<String, byte[]> result) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collect(root, file, result);
+            } else if (file.getName().endsWith(".java")) {
+                String path = root.toURI().relativize(file.toURI()).getPath();
+                result.put(path, Files.readAllBytes(file.toPath()));
+            }
+        }
+    }
+}
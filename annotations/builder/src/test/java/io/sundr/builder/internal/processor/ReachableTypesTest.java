@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder.internal.processor;
+
+import com.sun.tools.javac.model.JavacElements;
+import com.sun.tools.javac.model.JavacTypes;
+import com.sun.tools.javac.util.Context;
+import io.sundr.builder.BaseFluent;
+import io.sundr.builder.internal.BuilderContextManager;
+import io.sundr.builder.internal.utils.BuilderUtils;
+import io.sundr.codegen.functions.Collections;
+import io.sundr.codegen.model.ClassRefBuilder;
+import io.sundr.codegen.model.PropertyBuilder;
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+
+public class ReachableTypesTest {
+
+    private static final String SHAPE = "package testpackage;\n" +
+            "\n" +
+            "public interface Shape {\n" +
+            "}\n";
+
+    private static final String CIRCLE = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "\n" +
+            "@Buildable\n" +
+            "public class Circle implements Shape {\n" +
+            "\n" +
+            "    private final int radius;\n" +
+            "\n" +
+            "    public Circle(int radius) {\n" +
+            "        this.radius = radius;\n" +
+            "    }\n" +
+            "\n" +
+            "    public int getRadius() {\n" +
+            "        return radius;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String CANVAS = "package testpackage;\n" +
+            "\n" +
+            "import io.sundr.builder.annotations.Buildable;\n" +
+            "import java.util.List;\n" +
+            "\n" +
+            "@Buildable\n" +
+            "public class Canvas {\n" +
+            "\n" +
+            "    private final List<Shape> shapes;\n" +
+            "\n" +
+            "    public Canvas(List<Shape> shapes) {\n" +
+            "        this.shapes = shapes;\n" +
+            "    }\n" +
+            "\n" +
+            "    public List<Shape> getShapes() {\n" +
+            "        return shapes;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Test
+    public void testSubtypesOfPropertyTypesAreReachable() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<String, String>();
+        sources.put("testpackage.Shape", SHAPE);
+        sources.put("testpackage.Circle", CIRCLE);
+        sources.put("testpackage.Canvas", CANVAS);
+        File dir = AbstractProcessorTest.compile(sources);
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, getClass().getClassLoader());
+        try {
+            Class circleBuilder = classLoader.loadClass("testpackage.CircleBuilder");
+            BaseFluent canvasBuilder = (BaseFluent) classLoader.loadClass("testpackage.CanvasBuilder").newInstance();
+            assertTrue(reachableTypes(canvasBuilder).contains(circleBuilder));
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void testRawCollectionsAreSkipped() {
+        Context context = new Context();
+        BuilderContextManager.create(JavacElements.instance(context), JavacTypes.instance(context));
+
+        TypeDef type = new TypeDefBuilder()
+                .withName("Tagged")
+                .withPackageName(getClass().getPackage().getName())
+                .addToProperties(new PropertyBuilder()
+                        .withName("tags")
+                        .withTypeRef(new ClassRefBuilder().withDefinition(Collections.LIST).build())
+                        .build())
+                .build();
+
+        assertTrue(BuilderUtils.findReachableBuildables(type).isEmpty());
+    }
+
+    private static Set<Class> reachableTypes(BaseFluent fluent) throws Exception {
+        Method method = BaseFluent.class.getDeclaredMethod("_reachableTypes");
+        method.setAccessible(true);
+        return (Set<Class>) method.invoke(fluent);
+    }
+}
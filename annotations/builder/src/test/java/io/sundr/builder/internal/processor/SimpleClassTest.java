@@ -16,6 +16,7 @@
 
 package io.sundr.builder.internal.processor;
 
+import io.sundr.builder.internal.BuilderContextManager;
 import io.sundr.builder.internal.functions.ClazzAs;
 import io.sundr.codegen.functions.ClassTo;
 import io.sundr.codegen.functions.Sources;
@@ -26,6 +27,9 @@ import io.sundr.codegen.model.TypeRef;
 import org.junit.Test;
 
 import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -108,4 +112,27 @@ public class SimpleClassTest extends AbstractProcessorTest {
         assertEquals(Kind.CLASS, inlineable.getKind());
         assertEquals("CallableSimpleClass", inlineable.getName());
     }
+
+    @Test
+    public void testBuilderOnWorkerThread() throws Exception {
+        //Builders are derived on worker threads, that have the context of the compilation bound to them.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TypeDef builder = executor.submit(new Callable<TypeDef>() {
+                public TypeDef call() {
+                    BuilderContextManager.bind(builderContext);
+                    try {
+                        return ClazzAs.BUILDER.apply(simpleClassDef);
+                    } finally {
+                        BuilderContextManager.bind(null);
+                    }
+                }
+            }).get();
+
+            ClassRef superClass = builder.getImplementsList().iterator().next();
+            assertEquals("VisitableBuilder", superClass.getDefinition().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
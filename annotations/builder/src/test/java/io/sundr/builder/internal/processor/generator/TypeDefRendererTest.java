@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.builder.internal.processor.generator;
+
+import io.sundr.builder.Constants;
+import io.sundr.codegen.generator.CodeGeneratorBuilder;
+import io.sundr.codegen.generator.TypeDefRenderer;
+import io.sundr.codegen.model.Kind;
+import io.sundr.codegen.model.Method;
+import io.sundr.codegen.model.MethodBuilder;
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import org.junit.Test;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static io.sundr.codegen.functions.ClassTo.TYPEDEF;
+import static io.sundr.codegen.model.Attributeable.INIT;
+import static io.sundr.codegen.utils.TypeUtils.modifiersToInt;
+import static org.junit.Assert.assertEquals;
+
+public class TypeDefRendererTest {
+
+    private static final TypeDef INTEGER = TYPEDEF.apply(Integer.class);
+    private static final TypeDef STRING = TYPEDEF.apply(String.class);
+
+    @Test
+    public void testClassRendersLikeTemplate() throws IOException {
+        TypeDef inner = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withName("Inner")
+                .withPackageName("my.test")
+                .withModifiers(modifiersToInt(Modifier.PUBLIC))
+                .addNewProperty()
+                    .withName("value")
+                    .withTypeRef(STRING.toReference())
+                .endProperty()
+                .addNewConstructor()
+                    .withModifiers(modifiersToInt(Modifier.PUBLIC))
+                    .addNewArgument()
+                        .withName("value")
+                        .withTypeRef(STRING.toReference())
+                    .endArgument()
+                    .withNewBlock()
+                        .addNewStringStatementStatement("this.value = value;")
+                    .endBlock()
+                .endConstructor()
+                .addToMethods(getter("getValue", "value"))
+                .build();
+
+        TypeDef nested = new TypeDefBuilder()
+                .withKind(Kind.INTERFACE)
+                .withName("Nested")
+                .withPackageName("my.test")
+                .addNewMethod()
+                    .withName("nested")
+                    .withReturnType(STRING.toReference())
+                .endMethod()
+                .build();
+
+        TypeDef type = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withName("Circle")
+                .withPackageName("my.test")
+                .withModifiers(modifiersToInt(Modifier.PUBLIC))
+                .addNewProperty()
+                    .withName("radius")
+                    .withTypeRef(INTEGER.toReference())
+                    .withModifiers(modifiersToInt(Modifier.PRIVATE))
+                    .addToAttributes(INIT, "0")
+                .endProperty()
+                .addNewProperty()
+                    .withName("name")
+                    .withTypeRef(STRING.toReference())
+                    .withModifiers(modifiersToInt(Modifier.PRIVATE))
+                .endProperty()
+                .addNewConstructor()
+                    .withModifiers(modifiersToInt(Modifier.PUBLIC))
+                    .withNewBlock()
+                        .addNewStringStatementStatement("this.radius = 1;")
+                        .addNewStringStatementStatement("this.name = \"circle\";")
+                    .endBlock()
+                .endConstructor()
+                .addToMethods(getter("getRadius", "radius"), getter("getName", "name"))
+                .addNewMethod()
+                    .withName("area")
+                    .withReturnType(INTEGER.toReference())
+                    .withModifiers(modifiersToInt(Modifier.PUBLIC, Modifier.ABSTRACT))
+                .endMethod()
+                .withInnerTypes(inner, nested)
+                .build();
+
+        assertRendersLikeTemplate(type);
+    }
+
+    @Test
+    public void testInterfaceRendersLikeTemplate() throws IOException {
+        TypeDef type = new TypeDefBuilder()
+                .withKind(Kind.INTERFACE)
+                .withName("Shape")
+                .withPackageName("my.test")
+                .withModifiers(modifiersToInt(Modifier.PUBLIC))
+                .addNewMethod()
+                    .withName("getName")
+                    .withReturnType(STRING.toReference())
+                .endMethod()
+                .addNewMethod()
+                    .withName("getRadius")
+                    .withReturnType(INTEGER.toReference())
+                .endMethod()
+                .build();
+
+        assertRendersLikeTemplate(type);
+    }
+
+    private static Method getter(String name, String field) {
+        return new MethodBuilder()
+                .withName(name)
+                .withReturnType(STRING.toReference())
+                .withModifiers(modifiersToInt(Modifier.PUBLIC))
+                .withNewBlock()
+                    .addNewStringStatementStatement("return this." + field + ";")
+                .endBlock()
+                .build();
+    }
+
+    private static void assertRendersLikeTemplate(TypeDef type) throws IOException {
+        StringWriter expected = new StringWriter();
+        new CodeGeneratorBuilder<TypeDef>()
+                .withModel(type)
+                .withWriter(expected)
+                .withTemplateResource(Constants.DEFAULT_SOURCEFILE_TEMPLATE_LOCATION)
+                .build()
+                .generate();
+
+        StringWriter actual = new StringWriter();
+        TypeDefRenderer.render(type, actual);
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
@@ -26,6 +26,6 @@ import java.lang.annotation.Target;
  * An entry point method cannot be used in the middle of the invocation chain.
  */
 @Target(ElementType.METHOD)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface EntryPoint {
 }
@@ -25,6 +25,6 @@ import java.lang.annotation.Target;
  * An annotation to mark methods that can appear multiple times in the invocation chain.
  */
 @Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Multiple {
 }
@@ -25,6 +25,6 @@ import java.lang.annotation.Target;
  * An annotation to specify that the current annotation is using for transition filtering.
  */
 @Target({ElementType.ANNOTATION_TYPE})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Option {
 }
@@ -16,31 +16,54 @@
 
 package io.sundr.dsl.internal.processor;
 
+import io.sundr.codegen.CodegenContext;
+
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
-import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Keeps the {@link DslContext} of the compilation running on the current thread.
+ */
 public class DslContextManager {
 
     private DslContextManager() {
     }
 
-    private static final AtomicReference<DslContext> context = new AtomicReference<DslContext>();
+    private static final ThreadLocal<DslContext> CONTEXT = new ThreadLocal<DslContext>();
 
     public static DslContext create(Elements elements, Types types) {
-        DslContext ctx = new DslContext(elements, types);
-        if (context.compareAndSet(null, ctx)) {
-            return ctx;
+        DslContext context = CONTEXT.get();
+        if (context == null || context.getElements() != elements) {
+            context = new DslContext(elements, types);
+            CONTEXT.set(context);
         } else {
-            DslContext existing = context.get();
-            return existing;
+            CodegenContext.bind(context.getCodegenContext());
         }
+        return context;
     }
 
-    public static synchronized DslContext getContext() {
-        if (context.get() == null) {
+    public static DslContext getContext() {
+        DslContext context = CONTEXT.get();
+        if (context == null) {
             throw new IllegalStateException("Dsl context not available.");
         }
-        return context.get();
+        return context;
+    }
+
+    /**
+     * Binds the specified context and its {@link CodegenContext} to the current thread.
+     * @param context   The context or null to unbind the current one.
+     * @return          The context that was previously bound to the current thread.
+     */
+    public static DslContext bind(DslContext context) {
+        DslContext previous = CONTEXT.get();
+        if (context != null) {
+            CONTEXT.set(context);
+            CodegenContext.bind(context.getCodegenContext());
+        } else {
+            CONTEXT.remove();
+            CodegenContext.bind(null);
+        }
+        return previous;
     }
 }
@@ -16,6 +16,8 @@
 
 package io.sundr.dsl.internal.processor;
 
+import io.sundr.CacheScope;
+import io.sundr.FunctionMetrics;
 import io.sundr.codegen.model.ClassRef;
 import io.sundr.codegen.model.TypeDef;
 import io.sundr.codegen.model.TypeDefBuilder;
@@ -42,27 +44,67 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static io.sundr.dsl.internal.Constants.ORIGINAL_REF;
 import static io.sundr.dsl.internal.utils.TypeDefUtils.executablesToInterfaces;
 import static io.sundr.dsl.internal.Constants.IS_GENERATED;
 
+/**
+ * Generates the interfaces of the types annotated with {@link io.sundr.dsl.annotations.Dsl}.
+ * The processor is registered as aggregating in Gradle, so unchanged types may be handed to it as class files.
+ * The dsl annotations are kept in class files for that reason, but keywords defined by the user need CLASS retention too,
+ * and the sources need to be compiled with -parameters.
+ */
 @SupportedAnnotationTypes("io.sundr.dsl.annotations.Dsl")
 public class DslProcessor extends JavaGeneratingProcessor {
 
     public static final String DEFAULT_TEMPLATE_LOCATION = "templates/dsl/dsl.vm";
 
+    /**
+     * The cache scope of the current compilation, which stays open across its rounds.
+     */
+    private CacheScope cacheScope;
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (cacheScope == null) {
+            cacheScope = CacheScope.open(processingEnv.getElementUtils());
+        }
+        try {
+            return processRound(annotations, env);
+        } finally {
+            if (env.processingOver()) {
+                cacheScope.close();
+                cacheScope = null;
+                //Don't keep the state of a finished compilation around on this thread.
+                DslContextManager.bind(null);
+            }
+            if (env.processingOver() && FunctionMetrics.isEnabled()) {
+                String report = FunctionMetrics.reportAndReset();
+                if (!report.isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Function metrics:\n" + report);
+                }
+            }
+        }
+    }
+
+    private boolean processRound(Set<? extends TypeElement> annotations, RoundEnvironment env) {
         Elements elements = processingEnv.getElementUtils();
         Types types = processingEnv.getTypeUtils();
         DslContext context = DslContextManager.create(elements, types);
+        //Generated interfaces are shared between the annotated types, so they are generated once at the end of the round.
+        Map<String, TypeDef> generated = new LinkedHashMap<String, TypeDef>();
+        Map<String, Set<Element>> originatingElements = new HashMap<String, Set<Element>>();
 
         for (TypeElement annotation : annotations) {
             for (Element element : env.getElementsAnnotatedWith(annotation)) {
@@ -124,18 +166,28 @@ public class DslProcessor extends JavaGeneratingProcessor {
                             .withMethods(methods)
                             .build());
 
+                    //Any of the interfaces generated so far may be used by this element.
                     interfacesToGenerate.addAll(context.getDefinitionRepository().getDefinitions(IS_GENERATED));
-
-                    try {
-                        for (TypeDef clazz : interfacesToGenerate) {
-                            generateFromClazz(clazz, DEFAULT_TEMPLATE_LOCATION);
+                    for (TypeDef clazz : interfacesToGenerate) {
+                        String key = clazz.getFullyQualifiedName();
+                        if (!generated.containsKey(key)) {
+                            generated.put(key, clazz);
+                            originatingElements.put(key, new LinkedHashSet<Element>());
                         }
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+                        originatingElements.get(key).add(typeElement);
                     }
                 }
             }
         }
+
+        try {
+            for (TypeDef clazz : generated.values()) {
+                Set<Element> origins = originatingElements.get(clazz.getFullyQualifiedName());
+                generateFromClazz(clazz, DEFAULT_TEMPLATE_LOCATION, origins.toArray(new Element[origins.size()]));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         return true;
     }
 }
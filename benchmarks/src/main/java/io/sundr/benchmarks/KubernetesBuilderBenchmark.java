@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr.benchmarks;
+
+import io.sundr.examples.kubernetes.domain.EnvVar;
+import io.sundr.examples.kubernetes.domain.EnvVarBuilder;
+import io.sundr.examples.kubernetes.domain.EnvVarSource;
+import io.sundr.examples.kubernetes.domain.EnvVarSourceBuilder;
+import io.sundr.examples.kubernetes.domain.PathAwareTypedVisitor;
+import io.sundr.examples.kubernetes.domain.TypedVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generated builders of the kubernetes example, which live in their own builder package.
+ * The example has no list properties, so each operation is applied to a growing number of env var trees,
+ * each with an optional nested buildable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KubernetesBuilderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<EnvVar> envVars;
+    private List<EnvVarBuilder> builders;
+
+    @Setup
+    public void setUp() {
+        envVars = new ArrayList<EnvVar>(size);
+        builders = new ArrayList<EnvVarBuilder>(size);
+        for (int i = 0; i < size; i++) {
+            EnvVar envVar = new EnvVarBuilder()
+                    .withName("VAR_" + i)
+                    .withValue("value" + i)
+                    .withValueFrom(new EnvVarSource(Optional.of("field" + i)))
+                    .build();
+            envVars.add(envVar);
+            builders.add(new EnvVarBuilder(envVar));
+        }
+    }
+
+    @Benchmark
+    public void build(Blackhole blackhole) {
+        for (EnvVarBuilder builder : builders) {
+            blackhole.consume(builder.build());
+        }
+    }
+
+    @Benchmark
+    public void copy(Blackhole blackhole) {
+        for (EnvVar envVar : envVars) {
+            blackhole.consume(new EnvVarBuilder(envVar));
+        }
+    }
+
+    @Benchmark
+    public void typedVisitor(Blackhole blackhole) {
+        TypedVisitor<EnvVarSourceBuilder> visitor = new TypedVisitor<EnvVarSourceBuilder>() {
+            @Override
+            public void visit(EnvVarSourceBuilder source) {
+                source.withFieldRef(source.getFieldRef());
+            }
+        };
+        for (EnvVarBuilder builder : builders) {
+            blackhole.consume(builder.accept(visitor));
+        }
+    }
+
+    @Benchmark
+    public void pathAwareTypedVisitor(final Blackhole blackhole) {
+        PathAwareTypedVisitor<EnvVarSourceBuilder, EnvVarBuilder> visitor = new PathAwareTypedVisitor<EnvVarSourceBuilder, EnvVarBuilder>() {
+            @Override
+            public void visit(EnvVarSourceBuilder source) {
+                blackhole.consume(getParent());
+            }
+        };
+        for (EnvVarBuilder builder : builders) {
+            blackhole.consume(builder.accept(visitor));
+        }
+    }
+}
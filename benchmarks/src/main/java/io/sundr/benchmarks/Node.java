@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks;
+
+import io.sundr.builder.BaseFluent;
+
+/**
+ * A minimal hand-written fluent used to build synthetic trees for the visitor benchmarks.
+ */
+public class Node extends BaseFluent<Node> {
+
+    private int value;
+
+    public Node(int value) {
+        this.value = value;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public Node withValue(int value) {
+        this.value = value;
+        return this;
+    }
+
+    public Node addChild(Node child) {
+        _visitables.add(child);
+        return this;
+    }
+
+    /**
+     * Creates a tree of the specified depth, where each non leaf node has the specified number of children.
+     * @param depth     The depth of the tree.
+     * @param fanOut    The number of children per node.
+     * @return          The root of the tree.
+     */
+    public static Node tree(int depth, int fanOut) {
+        Node root = depth > 1 ? new Node(0) : new Leaf(0);
+        if (depth > 1) {
+            for (int i = 0; i < fanOut; i++) {
+                root.addChild(tree(depth - 1, fanOut));
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Creates a degenerate tree, where each node has a single child.
+     * @param length    The number of nodes.
+     * @return          The root of the chain.
+     */
+    public static Node chain(int length) {
+        Node root = new Node(0);
+        Node current = root;
+        for (int i = 1; i < length; i++) {
+            Node next = i < length - 1 ? new Node(i) : new Leaf(i);
+            current.addChild(next);
+            current = next;
+        }
+        return root;
+    }
+}
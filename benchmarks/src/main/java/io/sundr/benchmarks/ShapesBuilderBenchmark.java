@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr.benchmarks;
+
+import io.sundr.builder.PathAwareTypedVisitor;
+import io.sundr.builder.TypedVisitor;
+import io.sundr.examples.shapes.Canvas;
+import io.sundr.examples.shapes.CanvasBuilder;
+import io.sundr.examples.shapes.Shape;
+import io.sundr.examples.shapes.v1.CircleBuilder;
+import io.sundr.examples.shapes.v1.SquareBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generated builders of the shapes example on a canvas with a growing number of shapes.
+ * Covers the list handling emitted by ToMethod and ClazzAs, as well as visitor dispatch in BaseFluent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapesBuilderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<Shape> shapes;
+    private Canvas canvas;
+    private CanvasBuilder builder;
+
+    @Setup
+    public void setUp() {
+        shapes = shapes(size);
+        canvas = new CanvasBuilder().withShapes(shapes).build();
+        builder = new CanvasBuilder(canvas);
+    }
+
+    static List<Shape> shapes(int size) {
+        List<Shape> shapes = new ArrayList<Shape>(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                shapes.add(new CircleBuilder<Integer>().withX(i).withY(i).withRadius(i).build());
+            } else {
+                shapes.add(new SquareBuilder().withX(i).withY(i).withHeight(i).build());
+            }
+        }
+        return shapes;
+    }
+
+    @Benchmark
+    public Canvas build() {
+        return builder.build();
+    }
+
+    @Benchmark
+    public CanvasBuilder copy() {
+        return new CanvasBuilder(canvas);
+    }
+
+    @Benchmark
+    public CanvasBuilder typedVisitor() {
+        return builder.accept(new TypedVisitor<CircleBuilder<Integer>>() {
+            @Override
+            public void visit(CircleBuilder<Integer> circle) {
+                circle.withRadius(circle.getRadius());
+            }
+        });
+    }
+
+    @Benchmark
+    public CanvasBuilder pathAwareTypedVisitor() {
+        return builder.accept(new PathAwareTypedVisitor<SquareBuilder, CanvasBuilder>() {
+            @Override
+            public void visit(SquareBuilder square) {
+                square.withHeight(getParent() != null ? square.getHeight() : 0);
+            }
+        });
+    }
+
+    @Benchmark
+    public CanvasBuilder withList() {
+        return builder.withShapes(shapes);
+    }
+
+    @Benchmark
+    public CanvasBuilder removeFrom(RemoveState state) {
+        return state.builder.removeFromShapes(state.removed);
+    }
+
+    /**
+     * A fresh builder per invocation, as removing mutates it.
+     */
+    @State(Scope.Thread)
+    public static class RemoveState {
+
+        private CanvasBuilder builder;
+        private Shape[] removed;
+
+        @Setup(Level.Trial)
+        public void setUpTrial(ShapesBuilderBenchmark benchmark) {
+            List<Shape> half = new ArrayList<Shape>();
+            for (int i = 0; i < benchmark.shapes.size(); i += 2) {
+                half.add(benchmark.shapes.get(i));
+            }
+            removed = half.toArray(new Shape[half.size()]);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpInvocation(ShapesBuilderBenchmark benchmark) {
+            builder = new CanvasBuilder(benchmark.canvas);
+        }
+    }
+}
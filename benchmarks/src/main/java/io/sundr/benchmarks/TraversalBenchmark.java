@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks;
+
+import io.sundr.builder.BaseFluent;
+import io.sundr.builder.Visitable;
+import io.sundr.builder.Visitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the explicit stack traversal used by {@link BaseFluent#accept(Visitor)} with a recursive walk
+ * on a synthetic deep tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+public class TraversalBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int depth;
+
+    private Node root;
+
+    private final Visitor<Node> visitor = new Visitor<Node>() {
+        @Override
+        public void visit(Node node) {
+            node.withValue(node.getValue() + 1);
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        root = Node.chain(depth);
+    }
+
+    @Benchmark
+    public Node iterative() {
+        return root.accept(visitor);
+    }
+
+    @Benchmark
+    public Node recursive() {
+        recursiveAccept(root, visitor);
+        return root;
+    }
+
+    /**
+     * A recursive walk, equivalent to the one {@link BaseFluent} used before switching to an explicit stack.
+     */
+    private static void recursiveAccept(Node node, Visitor<Node> visitor) {
+        for (Visitable visitable : node._visitables) {
+            recursiveAccept((Node) visitable, visitor);
+        }
+        visitor.visit(node);
+    }
+}
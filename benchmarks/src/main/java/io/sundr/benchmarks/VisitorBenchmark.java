@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.benchmarks;
+
+import io.sundr.builder.TypedVisitor;
+import io.sundr.builder.Visitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link io.sundr.builder.BaseFluent#accept(Visitor)} on synthetic trees.
+ * Run it against two revisions of sundr-core to compare visitor dispatch costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorBenchmark {
+
+    @Param({"4", "6", "8"})
+    public int depth;
+
+    @Param({"4"})
+    public int fanOut;
+
+    private Node root;
+
+    @Setup
+    public void setUp() {
+        root = Node.tree(depth, fanOut);
+    }
+
+    @Benchmark
+    public Node visitor() {
+        return root.accept(new Visitor<Node>() {
+            @Override
+            public void visit(Node node) {
+                node.withValue(node.getValue() + 1);
+            }
+        });
+    }
+
+    @Benchmark
+    public Node typedVisitor() {
+        return root.accept(new TypedVisitor<Leaf>() {
+            @Override
+            public void visit(Leaf leaf) {
+                leaf.withValue(leaf.getValue() + 1);
+            }
+        });
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr.benchmarks.processing;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import io.sundr.builder.internal.processor.BuildableProcessor;
+import io.sundr.dsl.internal.processor.DslProcessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs javac in-process with the {@link BuildableProcessor} and the {@link DslProcessor} over synthetic models of growing size
+ * and reports total time, time per compiler phase, the number of generated files and the peak heap usage.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar io.sundr.benchmarks.processing.ProcessingBenchmark [key=value ...]}, with the keys:
+ * <ul>
+ *     <li>sizes: comma separated number of buildables (default: 100,1000,10000)</li>
+ *     <li>lists, maps, optionals: properties of each kind per buildable (default: 2, 1, 1)</li>
+ *     <li>depth: the inheritance depth of each buildable (default: 2)</li>
+ *     <li>descendants: the number of descendants of the abstract item type (default: 3)</li>
+ *     <li>dsls: the percentage of buildables that also get a dsl (default: 10)</li>
+ *     <li>compile: whether to generate class files or only run the processors (default: true)</li>
+ * </ul>
+ * Phases nest (e.g. annotation processing includes parsing and entering the generated sources), so their times don't add up to the total.
+ * Processors keep some state per JVM, so for clean numbers run each size in a fresh JVM.
+ */
+public class ProcessingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<String, String>();
+        options.put("sizes", "100,1000,10000");
+        options.put("lists", "2");
+        options.put("maps", "1");
+        options.put("optionals", "1");
+        options.put("depth", "2");
+        options.put("descendants", "3");
+        options.put("dsls", "10");
+        options.put("compile", "true");
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index < 0 || !options.containsKey(arg.substring(0, index))) {
+                throw new IllegalArgumentException("Unknown option: " + arg + ". Expected one of: " + options.keySet());
+            }
+            options.put(arg.substring(0, index), arg.substring(index + 1));
+        }
+
+        System.out.println(String.format("%10s %10s %12s %12s %12s %12s %12s %12s %12s",
+                "Buildables", "Files", "Total (ms)", "Parse (ms)", "Enter (ms)", "Process (ms)", "Analyze (ms)", "Generate (ms)", "Heap (MB)"));
+        for (String size : options.get("sizes").split(",")) {
+            int buildables = Integer.parseInt(size.trim());
+            SyntheticModel model = new SyntheticModel(buildables,
+                    Integer.parseInt(options.get("lists")),
+                    Integer.parseInt(options.get("maps")),
+                    Integer.parseInt(options.get("optionals")),
+                    Integer.parseInt(options.get("depth")),
+                    Integer.parseInt(options.get("descendants")),
+                    buildables * Integer.parseInt(options.get("dsls")) / 100);
+
+            Result result = run(model, Boolean.parseBoolean(options.get("compile")));
+            System.out.println(String.format("%10d %10d %12d %12d %12d %12d %12d %12d %12d",
+                    buildables, result.generatedFiles, millis(result.totalNanos),
+                    millis(result.phaseNanos(TaskEvent.Kind.PARSE)),
+                    millis(result.phaseNanos(TaskEvent.Kind.ENTER)),
+                    millis(result.phaseNanos(TaskEvent.Kind.ANNOTATION_PROCESSING)),
+                    millis(result.phaseNanos(TaskEvent.Kind.ANALYZE)),
+                    millis(result.phaseNanos(TaskEvent.Kind.GENERATE)),
+                    result.peakHeapBytes / (1024 * 1024)));
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Writes and compiles the specified model.
+     * @param model     The model.
+     * @param compile   Whether class files should be generated or only the processors should run.
+     * @return          The measurements.
+     */
+    public static Result run(SyntheticModel model, boolean compile) throws IOException {
+        File root = Files.createTempDirectory("sundrio-processing-").toFile();
+        try {
+            File sources = new File(root, "src");
+            File generated = new File(root, "generated");
+            File classes = new File(root, "classes");
+            mkdirs(sources, generated, classes);
+            List<File> files = model.writeTo(sources);
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                throw new IllegalStateException("No system java compiler found. Please run with a JDK.");
+            }
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+                fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(generated));
+                fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classes));
+
+                List<String> options = new ArrayList<String>(Arrays.asList("-classpath", System.getProperty("java.class.path"), "-nowarn"));
+                if (!compile) {
+                    options.add("-proc:only");
+                }
+                JavacTask task = (JavacTask) compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(files));
+                task.setProcessors(Arrays.asList(new BuildableProcessor(), new DslProcessor()));
+                PhaseTimer timer = new PhaseTimer();
+                task.setTaskListener(timer);
+
+                System.gc();
+                List<MemoryPoolMXBean> pools = heapPools();
+                for (MemoryPoolMXBean pool : pools) {
+                    pool.resetPeakUsage();
+                }
+
+                long start = System.nanoTime();
+                boolean success = task.call();
+                long totalNanos = System.nanoTime() - start;
+
+                long peakHeapBytes = 0;
+                for (MemoryPoolMXBean pool : pools) {
+                    peakHeapBytes += pool.getPeakUsage().getUsed();
+                }
+
+                if (!success) {
+                    StringBuilder sb = new StringBuilder("Compilation of the synthetic model failed:");
+                    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                            sb.append("\n").append(diagnostic);
+                        }
+                    }
+                    throw new IllegalStateException(sb.toString());
+                }
+                return new Result(totalNanos, timer.nanos, count(generated), peakHeapBytes);
+            }
+        } finally {
+            delete(root);
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> result = new ArrayList<MemoryPoolMXBean>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                result.add(pool);
+            }
+        }
+        return result;
+    }
+
+    private static void mkdirs(File... dirs) throws IOException {
+        for (File dir : dirs) {
+            if (!dir.mkdirs()) {
+                throw new IOException("Failed to create directory: " + dir);
+            }
+        }
+    }
+
+    private static int count(File dir) {
+        int count = 0;
+        File[] children = dir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                count += child.isDirectory() ? count(child) : 1;
+            }
+        }
+        return count;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Accumulates the wall time spent in each compiler phase.
+     * Javac reports the per file phases once for each source or type and may start them for all files before finishing any,
+     * so a phase is timed from the first start until no event of its kind is left open.
+     */
+    private static class PhaseTimer implements TaskListener {
+
+        private final Map<TaskEvent.Kind, Long> nanos = new EnumMap<TaskEvent.Kind, Long>(TaskEvent.Kind.class);
+        private final Map<TaskEvent.Kind, Long> since = new EnumMap<TaskEvent.Kind, Long>(TaskEvent.Kind.class);
+        private final Map<TaskEvent.Kind, int[]> open = new EnumMap<TaskEvent.Kind, int[]>(TaskEvent.Kind.class);
+
+        public void started(TaskEvent e) {
+            int[] count = open.get(e.getKind());
+            if (count == null) {
+                count = new int[1];
+                open.put(e.getKind(), count);
+            }
+            if (count[0]++ == 0) {
+                since.put(e.getKind(), System.nanoTime());
+            }
+        }
+
+        public void finished(TaskEvent e) {
+            int[] count = open.get(e.getKind());
+            if (count == null || count[0] == 0) {
+                return;
+            }
+            if (--count[0] == 0) {
+                Long current = nanos.get(e.getKind());
+                nanos.put(e.getKind(), (current != null ? current : 0L) + System.nanoTime() - since.get(e.getKind()));
+            }
+        }
+    }
+
+    public static class Result {
+
+        private final long totalNanos;
+        private final Map<TaskEvent.Kind, Long> phaseNanos;
+        private final int generatedFiles;
+        private final long peakHeapBytes;
+
+        public Result(long totalNanos, Map<TaskEvent.Kind, Long> phaseNanos, int generatedFiles, long peakHeapBytes) {
+            this.totalNanos = totalNanos;
+            this.phaseNanos = phaseNanos;
+            this.generatedFiles = generatedFiles;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long phaseNanos(TaskEvent.Kind kind) {
+            Long value = phaseNanos.get(kind);
+            return value != null ? value : 0L;
+        }
+
+        public int getGeneratedFiles() {
+            return generatedFiles;
+        }
+
+        public long getPeakHeapBytes() {
+            return peakHeapBytes;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr.benchmarks.processing;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a synthetic model of {@code @Buildable} classes and {@code @Dsl} interfaces.
+ * Each model class has a name, a number of list, map and optional properties and extends a chain of buildable base classes.
+ * List and optional properties refer to earlier model classes, so the number of referenced builders grows with the model.
+ * When descendants are requested, every model also has a list of an abstract buildable with that many concrete subclasses.
+ */
+public class SyntheticModel {
+
+    public static final String PACKAGE = "io.sundr.benchmarks.synthetic";
+
+    private final int buildables;
+    private final int lists;
+    private final int maps;
+    private final int optionals;
+    private final int inheritanceDepth;
+    private final int descendants;
+    private final int dsls;
+
+    public SyntheticModel(int buildables, int lists, int maps, int optionals, int inheritanceDepth, int descendants, int dsls) {
+        this.buildables = buildables;
+        this.lists = lists;
+        this.maps = maps;
+        this.optionals = optionals;
+        this.inheritanceDepth = inheritanceDepth;
+        this.descendants = descendants;
+        this.dsls = dsls;
+    }
+
+    public int getBuildables() {
+        return buildables;
+    }
+
+    /**
+     * Writes the sources of the model.
+     * @param dir   The source root.
+     * @return      The written source files.
+     */
+    public List<File> writeTo(File dir) throws IOException {
+        File packageDir = new File(dir, PACKAGE.replace('.', File.separatorChar));
+        if (!packageDir.isDirectory() && !packageDir.mkdirs()) {
+            throw new IOException("Failed to create directory: " + packageDir);
+        }
+
+        List<File> files = new ArrayList<File>();
+        files.add(write(packageDir, "Leaf", leaf()));
+        for (int i = 0; i < inheritanceDepth; i++) {
+            files.add(write(packageDir, "Base" + i, base(i)));
+        }
+        if (descendants > 0) {
+            files.add(write(packageDir, "Item", item()));
+            for (int i = 0; i < descendants; i++) {
+                files.add(write(packageDir, "Item" + i, itemDescendant(i)));
+            }
+        }
+        for (int i = 0; i < buildables; i++) {
+            files.add(write(packageDir, "Model" + i, model(i)));
+        }
+        for (int i = 0; i < dsls; i++) {
+            files.add(write(packageDir, "Model" + i + "Dsl", dsl(i)));
+        }
+        return files;
+    }
+
+    private static File write(File dir, String name, String source) throws IOException {
+        File file = new File(dir, name + ".java");
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+            writer.print(source);
+        }
+        return file;
+    }
+
+    private static String header() {
+        return "package " + PACKAGE + ";\n\nimport io.sundr.builder.annotations.Buildable;\n\n";
+    }
+
+    private static String leaf() {
+        return header()
+                + "@Buildable\n"
+                + "public class Leaf {\n"
+                + "    private final String value;\n"
+                + "    public Leaf(String value) { this.value = value; }\n"
+                + "    public String getValue() { return value; }\n"
+                + "}\n";
+    }
+
+    private static String base(int level) {
+        StringBuilder sb = new StringBuilder(header());
+        sb.append("@Buildable\n");
+        sb.append("public abstract class Base").append(level);
+        if (level > 0) {
+            sb.append(" extends Base").append(level - 1);
+        }
+        sb.append(" {\n");
+        sb.append("    private final String base").append(level).append(";\n");
+        sb.append("    public Base").append(level).append("(").append(baseArguments(level)).append(") {\n");
+        if (level > 0) {
+            sb.append("        super(").append(baseNames(level - 1)).append(");\n");
+        }
+        sb.append("        this.base").append(level).append(" = base").append(level).append(";\n");
+        sb.append("    }\n");
+        sb.append("    public String getBase").append(level).append("() { return base").append(level).append("; }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String baseArguments(int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= level; i++) {
+            sb.append(i > 0 ? ", " : "").append("String base").append(i);
+        }
+        return sb.toString();
+    }
+
+    private static String baseNames(int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= level; i++) {
+            sb.append(i > 0 ? ", " : "").append("base").append(i);
+        }
+        return sb.toString();
+    }
+
+    private static String item() {
+        return header()
+                + "@Buildable\n"
+                + "public abstract class Item {\n"
+                + "    private final String id;\n"
+                + "    public Item(String id) { this.id = id; }\n"
+                + "    public String getId() { return id; }\n"
+                + "}\n";
+    }
+
+    private static String itemDescendant(int index) {
+        return header()
+                + "@Buildable\n"
+                + "public class Item" + index + " extends Item {\n"
+                + "    private final int weight" + index + ";\n"
+                + "    public Item" + index + "(String id, int weight" + index + ") { super(id); this.weight" + index + " = weight" + index + "; }\n"
+                + "    public int getWeight" + index + "() { return weight" + index + "; }\n"
+                + "}\n";
+    }
+
+    /**
+     * @return  The type of the n-th reference of the model with the specified index: an earlier model or the leaf.
+     */
+    private static String referenceOf(int index, int n) {
+        int target = index - 1 - n;
+        return target >= 0 ? "Model" + target : "Leaf";
+    }
+
+    private String model(int index) {
+        List<String> types = new ArrayList<String>();
+        List<String> names = new ArrayList<String>();
+        for (int i = 0; i < inheritanceDepth; i++) {
+            types.add("String");
+            names.add("base" + i);
+        }
+        types.add("String");
+        names.add("name");
+        for (int i = 0; i < lists; i++) {
+            types.add("java.util.List<" + referenceOf(index, i) + ">");
+            names.add("list" + i);
+        }
+        for (int i = 0; i < maps; i++) {
+            types.add("java.util.Map<String, String>");
+            names.add("map" + i);
+        }
+        for (int i = 0; i < optionals; i++) {
+            types.add("java.util.Optional<" + referenceOf(index, i) + ">");
+            names.add("optional" + i);
+        }
+        if (descendants > 0) {
+            types.add("java.util.List<Item>");
+            names.add("items");
+        }
+
+        int inherited = inheritanceDepth;
+        StringBuilder sb = new StringBuilder(header());
+        sb.append("@Buildable\n");
+        sb.append("public class Model").append(index);
+        if (inheritanceDepth > 0) {
+            sb.append(" extends Base").append(inheritanceDepth - 1);
+        }
+        sb.append(" {\n");
+        for (int i = inherited; i < names.size(); i++) {
+            sb.append("    private final ").append(types.get(i)).append(" ").append(names.get(i)).append(";\n");
+        }
+        sb.append("    public Model").append(index).append("(");
+        for (int i = 0; i < names.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append(types.get(i)).append(" ").append(names.get(i));
+        }
+        sb.append(") {\n");
+        if (inheritanceDepth > 0) {
+            sb.append("        super(").append(baseNames(inheritanceDepth - 1)).append(");\n");
+        }
+        for (int i = inherited; i < names.size(); i++) {
+            sb.append("        this.").append(names.get(i)).append(" = ").append(names.get(i)).append(";\n");
+        }
+        sb.append("    }\n");
+        for (int i = inherited; i < names.size(); i++) {
+            String name = names.get(i);
+            sb.append("    public ").append(types.get(i)).append(" get").append(Character.toUpperCase(name.charAt(0))).append(name.substring(1))
+                    .append("() { return ").append(name).append("; }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String dsl(int index) {
+        String entryPoint = "model" + index;
+        return "package " + PACKAGE + ";\n\n"
+                + "import io.sundr.dsl.annotations.All;\n"
+                + "import io.sundr.dsl.annotations.Any;\n"
+                + "import io.sundr.dsl.annotations.Dsl;\n"
+                + "import io.sundr.dsl.annotations.EntryPoint;\n"
+                + "import io.sundr.dsl.annotations.InterfaceName;\n"
+                + "import io.sundr.dsl.annotations.Terminal;\n\n"
+                + "@Dsl\n"
+                + "@InterfaceName(\"Model" + index + "Client\")\n"
+                + "public interface Model" + index + "Dsl {\n"
+                + "    @EntryPoint\n"
+                + "    void " + entryPoint + "();\n"
+                + "    @Any(methods = \"" + entryPoint + "\")\n"
+                + "    void inNamespace(String namespace);\n"
+                + "    @Any(methods = \"" + entryPoint + "\")\n"
+                + "    void withName(String name);\n"
+                + "    @Terminal\n"
+                + "    @All(methods = {\"" + entryPoint + "\", \"withName\"})\n"
+                + "    Model" + index + " get();\n"
+                + "    @Terminal\n"
+                + "    @All(methods = {\"" + entryPoint + "\", \"withName\"})\n"
+                + "    void delete();\n"
+                + "}\n";
+    }
+}
@@ -16,32 +16,82 @@
 
 package io.sundr.codegen;
 
+import io.sundr.codegen.model.TypeRefInterner;
+
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.Map;
+import java.util.WeakHashMap;
 
+/**
+ * The context of a single compilation.
+ * Contexts are bound to the thread that created them, so that independent compilations in one JVM can run concurrently.
+ * All contexts created for the same {@link Elements} share a {@link DefinitionRepository} and a {@link TypeRefInterner},
+ * so definitions and canonical references survive across rounds, but are released together with the compilation.
+ */
 public class CodegenContext {
 
-    private static CodegenContext INSTANCE;
+    private static final Map<Elements, Compilation> COMPILATIONS = new WeakHashMap<Elements, Compilation>();
+    private static final ThreadLocal<CodegenContext> CURRENT = new ThreadLocal<CodegenContext>();
 
     private final Types types;
     private final Elements elements;
-    private final DefinitionRepository definitionRepository = DefinitionRepository.getRepository();
+    private final Compilation compilation;
 
-    private CodegenContext(Elements elements, Types types) {
+    private CodegenContext(Elements elements, Types types, Compilation compilation) {
         this.types = types;
         this.elements = elements;
+        this.compilation = compilation;
     }
 
-    public synchronized static CodegenContext create(Elements elements, Types types) {
-        INSTANCE = new CodegenContext(elements, types);
-        return INSTANCE;
+    /**
+     * Creates a context and binds it to the current thread.
+     * @param elements  The element utilities of the compilation.
+     * @param types     The type utilities of the compilation.
+     * @return          The context.
+     */
+    public static CodegenContext create(Elements elements, Types types) {
+        Compilation compilation;
+        synchronized (COMPILATIONS) {
+            compilation = COMPILATIONS.get(elements);
+            if (compilation == null) {
+                compilation = new Compilation();
+                COMPILATIONS.put(elements, compilation);
+            }
+        }
+        CodegenContext context = new CodegenContext(elements, types, compilation);
+        CURRENT.set(context);
+        return context;
     }
 
-    public synchronized static CodegenContext getContext() {
-        if (INSTANCE == null) {
+    public static CodegenContext getContext() {
+        CodegenContext context = CURRENT.get();
+        if (context == null) {
             throw new IllegalStateException("CodeGenContext has not been created, yet.");
         }
-        return INSTANCE;
+        return context;
+    }
+
+    /**
+     * Binds the specified context to the current thread, e.g. when a compilation hands work over to other threads.
+     * @param context   The context or null to unbind the current one.
+     * @return          The context that was previously bound to the current thread.
+     */
+    public static CodegenContext bind(CodegenContext context) {
+        CodegenContext previous = CURRENT.get();
+        if (context != null) {
+            CURRENT.set(context);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * @return  The context bound to the current thread, or null if there is none.
+     */
+    public static CodegenContext current() {
+        return CURRENT.get();
     }
 
     public Types getTypes() {
@@ -53,6 +103,15 @@ public class CodegenContext {
     }
 
     public DefinitionRepository getDefinitionRepository() {
-        return definitionRepository;
+        return compilation.repository;
+    }
+
+    public TypeRefInterner getInterner() {
+        return compilation.interner;
+    }
+
+    private static final class Compilation {
+        private final DefinitionRepository repository = new DefinitionRepository();
+        private final TypeRefInterner interner = new TypeRefInterner();
     }
 }
@@ -27,43 +27,90 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Holds the definitions known to a compilation.
+ * Each {@link CodegenContext} owns a repository, which is the only place definitions are registered to.
+ * Outside of a context, a detached repository is used: it keeps nothing, so no definition outlives its compilation
+ * or is visible to an other compilation.
+ */
 public class DefinitionRepository {
 
-    private static DefinitionRepository INSTANCE;
+    private static final DefinitionRepository DETACHED = new DefinitionRepository(true);
 
+    private final boolean detached;
     private final ConcurrentMap<String, TypeDef> definitions = new ConcurrentHashMap<String, TypeDef>();
 
+    //Fully qualified names of the definitions per flag that they have set
+    private final ConcurrentMap<AttributeKey<?>, Set<String>> flagged = new ConcurrentHashMap<AttributeKey<?>, Set<String>>();
+
     //Custom mappings
     private final ConcurrentMap<String, String> custom = new ConcurrentHashMap<String, String>();
 
-    private Map<String, String> snapshot;
+    private volatile Map<String, String> snapshot;
+
+    //Changes whenever a definition or mapping changes, so that resolved references can be cached
+    private final AtomicLong version = new AtomicLong();
 
-    private DefinitionRepository() {
+    public DefinitionRepository() {
+        this(false);
     }
 
-    public static synchronized final DefinitionRepository getRepository() {
-        if (INSTANCE == null) {
-            INSTANCE = new DefinitionRepository();
-        }
-        return INSTANCE;
+    private DefinitionRepository(boolean detached) {
+        this.detached = detached;
+    }
+
+    /**
+     * @return  The repository of the {@link CodegenContext} bound to the current thread, or a detached repository
+     *          that doesn't keep any definitions, if there is none.
+     */
+    public static DefinitionRepository getRepository() {
+        CodegenContext context = CodegenContext.current();
+        return context != null ? context.getDefinitionRepository() : DETACHED;
     }
 
+    /**
+     * @return  True if the repository doesn't keep definitions, because no {@link CodegenContext} is bound.
+     */
+    public boolean isDetached() {
+        return detached;
+    }
+
+    /**
+     * Registers the definition, unless a definition with the same name is already known.
+     * Known names are looked up without locking, as this is called for every {@link ClassRef} that is created.
+     * The version doesn't change, as no existing resolution changes: references don't keep resolutions of unknown names.
+     */
     public TypeDef registerIfAbsent(TypeDef definition) {
-        if (definition != null) {
-            definitions.putIfAbsent(definition.getFullyQualifiedName(), definition);
+        if (detached || definition == null || getDefinition(definition.getFullyQualifiedName()) != null) {
+            return definition;
+        }
+        synchronized (this) {
+            if (definitions.putIfAbsent(definition.getFullyQualifiedName(), definition) == null) {
+                index(definition);
+            }
         }
         return definition;
     }
 
-    public TypeDef register(TypeDef definition) {
-        definitions.put(definition.getFullyQualifiedName(), definition);
+    public synchronized TypeDef register(TypeDef definition) {
+        if (detached) {
+            return definition;
+        }
+        TypeDef previous = definitions.put(definition.getFullyQualifiedName(), definition);
+        if (previous != null) {
+            unindex(previous, definition);
+        }
+        index(definition);
+        version.incrementAndGet();
         return definition;
     }
 
@@ -84,34 +131,88 @@ public class DefinitionRepository {
         return register(builder.build());
     }
 
-
-
-    public Set<TypeDef> getDefinitions(String... flags) {
-        Set<TypeDef> result = new LinkedHashSet<TypeDef>();
-        for (TypeDef candidate : definitions.values()) {
-            boolean matches = true;
-            for (String flag :flags) {
-                AttributeKey<Boolean> attributeKey = new AttributeKey<Boolean>(flag, Boolean.class);
-                if (!candidate.hasAttribute(attributeKey) || !(candidate.getAttribute(attributeKey))) {
-                   matches = false;
-                   break;
+    /**
+     * Adds the definition to the index of every flag it has set.
+     */
+    private void index(TypeDef definition) {
+        for (AttributeKey<?> key : flagsOf(definition)) {
+            Set<String> names = flagged.get(key);
+            if (names == null) {
+                Set<String> created = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                names = flagged.putIfAbsent(key, created);
+                if (names == null) {
+                    names = created;
                 }
             }
-            if (matches) {
-                result.add(candidate);
+            names.add(definition.getFullyQualifiedName());
+        }
+    }
+
+    /**
+     * Removes the previous definition from the index of every flag the replacing definition no longer has set.
+     */
+    private void unindex(TypeDef previous, TypeDef replacement) {
+        Set<AttributeKey<?>> remaining = flagsOf(replacement);
+        for (AttributeKey<?> key : flagsOf(previous)) {
+            Set<String> names = flagged.get(key);
+            if (names != null && !remaining.contains(key)) {
+                names.remove(previous.getFullyQualifiedName());
             }
         }
+    }
 
-        return Collections.unmodifiableSet(result);
+    private static Set<AttributeKey<?>> flagsOf(TypeDef definition) {
+        Set<AttributeKey<?>> result = new HashSet<AttributeKey<?>>();
+        if (definition.getAttributes() == null) {
+            return result;
+        }
+        for (Map.Entry<AttributeKey, Object> entry : definition.getAttributes().entrySet()) {
+            if (Boolean.TRUE.equals(entry.getValue())) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
     }
 
+    public Set<TypeDef> getDefinitions(String... flags) {
+        AttributeKey<Boolean>[] attributeKeys = new AttributeKey[flags.length];
+        for (int i = 0; i < flags.length; i++) {
+            attributeKeys[i] = new AttributeKey<Boolean>(flags[i], Boolean.class);
+        }
+        return getDefinitions(attributeKeys);
+    }
+
+    /**
+     * Finds the definitions that have all the specified flags set.
+     * Only the definitions indexed under the rarest flag are checked.
+     * @param attributeKeys The flags.
+     * @return              The matching definitions.
+     */
     public Set<TypeDef> getDefinitions(AttributeKey<Boolean>... attributeKeys) {
+        if (attributeKeys.length == 0) {
+            return Collections.unmodifiableSet(new LinkedHashSet<TypeDef>(getDefinitions()));
+        }
 
         Set<TypeDef> result = new LinkedHashSet<TypeDef>();
-        for (TypeDef candidate : definitions.values()) {
+        Set<String> candidates = null;
+        for (AttributeKey<Boolean> attributeKey : attributeKeys) {
+            Set<String> names = flagged.get(attributeKey);
+            if (names == null || names.isEmpty()) {
+                return Collections.unmodifiableSet(result);
+            }
+            if (candidates == null || names.size() < candidates.size()) {
+                candidates = names;
+            }
+        }
+
+        for (String name : candidates) {
+            TypeDef candidate = definitions.get(name);
+            if (candidate == null) {
+                continue;
+            }
             boolean matches = true;
             for (AttributeKey<Boolean> attributeKey : attributeKeys) {
-                if (!candidate.hasAttribute(attributeKey) || !(candidate.getAttribute(attributeKey))) {
+                if (!Boolean.TRUE.equals(candidate.getAttribute(attributeKey))) {
                     matches = false;
                     break;
                 }
@@ -125,22 +226,30 @@ public class DefinitionRepository {
     }
 
     public TypeDef getDefinition(String fullyQualifiedName) {
-       return definitions.get(fullyQualifiedName);
+        return definitions.get(fullyQualifiedName);
     }
 
     public TypeDef getDefinition(TypeRef type) {
         if (type instanceof ClassRef) {
-            return definitions.get(((ClassRef)type).getFullyQualifiedName());
+            return getDefinition(((ClassRef)type).getFullyQualifiedName());
         }
         return null;
     }
 
     public Collection<TypeDef> getDefinitions() {
-       return definitions.values();
+        return definitions.values();
+    }
+
+    /**
+     * @return  The current version of the repository. It changes with every change of the definitions or the mappings.
+     */
+    public long getVersion() {
+        return version.get();
     }
 
     public void updateReferenceMap() {
         snapshot = getReferenceMapInternal();
+        version.incrementAndGet();
     }
 
     public Map<String, String> getReferenceMap() {
@@ -177,18 +286,31 @@ public class DefinitionRepository {
     }
 
     public String putCustomMapping(String name, String fqn) {
-         return custom.put(name, fqn);
+        if (detached) {
+            return null;
+        }
+        try {
+            return custom.put(name, fqn);
+        } finally {
+            version.incrementAndGet();
+        }
     }
 
     public String removeCustomMapping(String name) {
-        return custom.remove(name);
+        try {
+            return custom.remove(name);
+        } finally {
+            version.incrementAndGet();
+        }
     }
 
     public boolean customMappingExists(String name) {
         return custom.containsKey(name);
     }
 
-    public void clear() {
+    public synchronized void clear() {
         definitions.clear();
+        flagged.clear();
+        version.incrementAndGet();
     }
 }
@@ -56,7 +56,7 @@ public class ClassTo {
 
     private static final String ARGUMENT_PREFIX = "arg";
 
-    public static final Function<Class, Kind> KIND = FunctionFactory.cache(new Function<Class, Kind>() {
+    public static final Function<Class, Kind> KIND = FunctionFactory.cache("ClassTo.KIND", new Function<Class, Kind>() {
         public Kind apply(Class item) {
             if (item.isAnnotation()) {
                 return Kind.ANNOTATION;
@@ -70,7 +70,7 @@ public class ClassTo {
         }
     });
 
-    public static final Function<Type, TypeRef> TYPEREF = FunctionFactory.cache(new Function<Type, TypeRef>() {
+    public static final Function<Type, TypeRef> TYPEREF = FunctionFactory.cache("ClassTo.TYPEREF", new Function<Type, TypeRef>() {
         public TypeRef apply(Type item) {
             if (item == null) {
                 return new VoidRefBuilder().build();
@@ -114,7 +114,7 @@ public class ClassTo {
         }
     });
 
-    public static final Function<Class<? extends Annotation>, AnnotationRef> ANNOTATIONTYPEREF = FunctionFactory.cache(new Function<Class<? extends Annotation>, AnnotationRef>() {
+    public static final Function<Class<? extends Annotation>, AnnotationRef> ANNOTATIONTYPEREF = FunctionFactory.cache("ClassTo.ANNOTATIONTYPEREF", new Function<Class<? extends Annotation>, AnnotationRef>() {
 
         @Override
         public AnnotationRef apply(Class<? extends Annotation> item) {
@@ -203,9 +203,9 @@ public class ClassTo {
         }
     };
 
-    public static final Function<Class, TypeDef> TYPEDEF = FunctionFactory.cache(INTERNAL_TYPEDEF).withFallback(INTERNAL_SHALLOW_TYPEDEF).withMaximumRecursionLevel(5).withMaximumNestingDepth(5);
+    public static final Function<Class, TypeDef> TYPEDEF = FunctionFactory.cache("ClassTo.TYPEDEF", INTERNAL_TYPEDEF).withFallback(INTERNAL_SHALLOW_TYPEDEF).withMaximumRecursionLevel(5).withMaximumNestingDepth(5);
 
-    private static Function<Type, TypeParamDef> TYPEPARAMDEF = FunctionFactory.cache(new Function<Type, TypeParamDef>() {
+    private static Function<Type, TypeParamDef> TYPEPARAMDEF = FunctionFactory.cache("ClassTo.TYPEPARAMDEF", new Function<Type, TypeParamDef>() {
 
         public TypeParamDef apply(Type item) {
             if (item instanceof TypeVariable) {
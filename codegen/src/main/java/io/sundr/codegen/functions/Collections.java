@@ -42,25 +42,25 @@ public class Collections {
     public static final TypeDef SET = TYPEDEF.apply(Set.class);
     public static final TypeDef LINKED_HASH_SET = TYPEDEF.apply(LinkedHashSet.class);
 
-    public static final Function<TypeRef, Boolean> IS_LIST = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_LIST = FunctionFactory.cache("Collections.IS_LIST", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
            return TypeUtils.isInstanceOf(type, LIST, IS_LIST);
         }
     });
 
-    public static final Function<TypeRef, Boolean> IS_SET = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_SET = FunctionFactory.cache("Collections.IS_SET", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
             return TypeUtils.isInstanceOf(type, SET, IS_SET);
         }
     });
 
-    public static final Function<TypeRef, Boolean> IS_MAP = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_MAP = FunctionFactory.cache("Collections.IS_MAP", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
             return TypeUtils.isInstanceOf(type, MAP, IS_MAP);
         }
     });
 
-    public static final Function<TypeRef, Boolean> IS_COLLECTION = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_COLLECTION = FunctionFactory.cache("Collections.IS_COLLECTION", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
             return IS_LIST.apply(type) || IS_SET.apply(type);
         }
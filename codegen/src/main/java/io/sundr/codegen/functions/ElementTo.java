@@ -115,7 +115,7 @@ public class ElementTo {
         }
     };
 
-    public static final Function<TypeMirror, TypeRef> MIRROR_TO_TYPEREF = FunctionFactory.cache(DEEP_MIRROR_TO_TYPEREF)
+    public static final Function<TypeMirror, TypeRef> MIRROR_TO_TYPEREF = FunctionFactory.cache("ElementTo.MIRROR_TO_TYPEREF", DEEP_MIRROR_TO_TYPEREF)
             .withFallback(SHALLOW_MIRROR_TO_TYPEREF)
             .withFallbackPredicate(IS_JAVA_TYPE_MIRROR)
             .withMaximumRecursionLevel(10)
@@ -341,14 +341,14 @@ public class ElementTo {
         }
     };
 
-    public static final Function<TypeElement, TypeDef> TYPEDEF = FunctionFactory.cache(INTERNAL_TYPEDEF)
+    public static final Function<TypeElement, TypeDef> TYPEDEF = FunctionFactory.cache("ElementTo.TYPEDEF", INTERNAL_TYPEDEF)
             .withFallback(SHALLOW_TYPEDEF)
             .withFallbackPredicate(IS_JAVA_ELEMENT)
             .withMaximumRecursionLevel(10)
             .withMaximumNestingDepth(10);
 
 
-    private static Function<AnnotationMirror, AnnotationRef> ANNOTATION_REF = FunctionFactory.cache(new Function<AnnotationMirror, AnnotationRef>() {
+    private static Function<AnnotationMirror, AnnotationRef> ANNOTATION_REF = FunctionFactory.cache("ElementTo.ANNOTATION_REF", new Function<AnnotationMirror, AnnotationRef>() {
         @Override
         public AnnotationRef apply(AnnotationMirror item) {
             TypeRef annotationType = item.getAnnotationType().accept(new TypeRefTypeVisitor(), 0);
@@ -43,25 +43,25 @@ public class Optionals {
     public static final TypeDef OPTIONAL_DOUBLE = TYPEDEF.apply(OptionalDouble.class);
     public static final TypeDef OPTIONAL_LONG = TYPEDEF.apply(OptionalLong.class);
 
-    public static final Function<TypeRef, Boolean> IS_OPTIONAL = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_OPTIONAL = FunctionFactory.cache("Optionals.IS_OPTIONAL", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
            return TypeUtils.isInstanceOf(type, OPTIONAL, IS_OPTIONAL);
         }
     });
 
-    public static final Function<TypeRef, Boolean> IS_OPTIONAL_INT = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_OPTIONAL_INT = FunctionFactory.cache("Optionals.IS_OPTIONAL_INT", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
             return TypeUtils.isInstanceOf(type, OPTIONAL_INT, IS_OPTIONAL_INT);
         }
     });
 
-    public static final Function<TypeRef, Boolean> IS_OPTIONAL_DOUBLE = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_OPTIONAL_DOUBLE = FunctionFactory.cache("Optionals.IS_OPTIONAL_DOUBLE", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
             return TypeUtils.isInstanceOf(type, OPTIONAL_DOUBLE, IS_OPTIONAL_DOUBLE);
         }
     });
 
-    public static final Function<TypeRef, Boolean> IS_OPTIONAL_LONG = FunctionFactory.cache(new Function<TypeRef, Boolean>() {
+    public static final Function<TypeRef, Boolean> IS_OPTIONAL_LONG = FunctionFactory.cache("Optionals.IS_OPTIONAL_LONG", new Function<TypeRef, Boolean>() {
         public Boolean apply(TypeRef type) {
             return TypeUtils.isInstanceOf(type, OPTIONAL_LONG, IS_OPTIONAL_LONG);
         }
@@ -212,9 +212,13 @@ public class Sources {
             TypeDef knownDefinition = DefinitionRepository.getRepository().getDefinition(fqn);
 
             if (knownDefinition != null) {
-                return arguments.isEmpty()
-                        ? new ClassRefBuilder().withDefinition(knownDefinition).build()
-                        : knownDefinition.toReference(arguments);
+                if (arguments.isEmpty()) {
+                    return new ClassRefBuilder().withDefinition(knownDefinition).build();
+                } else if (knownDefinition.getParameters().isEmpty()) {
+                    //The definition may only be known by name (e.g. from an import), so keep the arguments as they are.
+                    return new ClassRefBuilder().withDefinition(knownDefinition).withArguments(arguments).build();
+                }
+                return knownDefinition.toReference(arguments);
             } else if (classOrInterfaceType.getTypeArgs().isEmpty() && boundName.length() == 1)  {
                 //We are doing our best here to distinguish between class refs and type parameter refs.
                 return new TypeParamRefBuilder().withName(boundName).build();
@@ -252,7 +256,7 @@ public class Sources {
                 }
             } else if (type instanceof PrimitiveType) {
                 PrimitiveType primitiveType = (PrimitiveType) type;
-                return new PrimitiveRefBuilder().withName(primitiveType.getType().name()).build();
+                return new PrimitiveRefBuilder().withName(primitiveType.getType().name().toLowerCase()).build();
             } else if (type instanceof ClassOrInterfaceType) {
                 return CLASS_OR_TYPEPARAM_REF.apply((ClassOrInterfaceType) type);
             }
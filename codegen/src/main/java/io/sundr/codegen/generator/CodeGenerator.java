@@ -18,21 +18,15 @@ package io.sundr.codegen.generator;
 
 import org.apache.velocity.Template;
 import org.apache.velocity.runtime.directive.Directive;
-import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
-import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 
 import java.io.IOException;
 import java.io.Writer;
 import java.net.URL;
 import java.util.Set;
 
-import static io.sundr.codegen.utils.StringUtils.loadResource;
-
 public class CodeGenerator<M> {
 
-    private static final String TEMPLATE = "template";
     private static final String MODEL = "model";
-    private static final String TEMPLATE_READER_FAILURE = "Failed to read template.";
 
     private final CodeGeneratorContext context;
     private final Writer writer;
@@ -49,19 +43,7 @@ public class CodeGenerator<M> {
         this.templateResource = templateResource;
         this.templateUrl = templateUrl;
         this.directives = directives;
-
-        StringResourceRepository repo = StringResourceLoader.getRepository();
-        try {
-            repo.putStringResource(TEMPLATE, templateUrl != null ? loadResource(templateUrl) : loadResource(templateResource));
-        } catch (Exception e) {
-            throw new RuntimeException(TEMPLATE_READER_FAILURE, e);
-        }
-
-        for (Class<? extends Directive> directive : directives) {
-            context.getVelocityEngine().loadDirective(directive.getCanonicalName());
-        }
-
-        this.template = this.context.getVelocityEngine().getTemplate(TEMPLATE);
+        this.template = this.context.getTemplate(templateUrl, templateResource, directives);
         this.context.getVelocityContext().put(MODEL, model);
     }
 
@@ -19,22 +19,38 @@ package io.sundr.codegen.generator;
 import io.sundr.codegen.directives.ClassDirective;
 import io.sundr.codegen.directives.FieldDirective;
 import io.sundr.codegen.directives.MethodDirective;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.runtime.ParserPoolImpl;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.directive.Directive;
 import org.apache.velocity.runtime.resource.loader.StringResourceLoader;
 import org.apache.velocity.runtime.log.NullLogChute;
 import org.apache.velocity.runtime.resource.ResourceManagerImpl;
 import org.apache.velocity.runtime.resource.ResourceCacheImpl;
+import org.apache.velocity.runtime.resource.util.StringResourceRepository;
 import org.apache.velocity.util.introspection.Uberspect;
 import org.apache.velocity.util.introspection.UberspectImpl;
 
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.sundr.codegen.utils.StringUtils.loadResource;
+
 public class CodeGeneratorContext {
 
+    private static final String TEMPLATE_READER_FAILURE = "Failed to read template.";
+
     private final VelocityEngine velocityEngine;
     private final VelocityContext velocityContext;
 
+    private final Map<String, Template> templates = new ConcurrentHashMap<String, Template>();
+    private final Set<String> directives = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
     public CodeGeneratorContext() {
         this(new VelocityEngine(), new VelocityContext());
     }
@@ -57,7 +73,58 @@ public class CodeGeneratorContext {
         this.velocityEngine.loadDirective(ClassDirective.class.getCanonicalName());
         this.velocityEngine.loadDirective(MethodDirective.class.getCanonicalName());
         this.velocityEngine.loadDirective(FieldDirective.class.getCanonicalName());
+        this.directives.add(ClassDirective.class.getCanonicalName());
+        this.directives.add(MethodDirective.class.getCanonicalName());
+        this.directives.add(FieldDirective.class.getCanonicalName());
+    }
+
+    /**
+     * Returns the compiled template for the specified url or resource.
+     * Each template is read and parsed once and is then shared by all generators using this context.
+     * @param templateUrl           The url of the template (takes precedence over the resource).
+     * @param templateResource      The classpath resource of the template.
+     * @param directives            The directives the template uses.
+     * @return                      The compiled template.
+     */
+    public Template getTemplate(URL templateUrl, String templateResource, Set<Class<? extends Directive>> directives) {
+        loadDirectives(directives);
+        String name = templateUrl != null ? templateUrl.toExternalForm() : templateResource;
+        Template template = templates.get(name);
+        if (template != null) {
+            return template;
+        }
+
+        synchronized (templates) {
+            template = templates.get(name);
+            if (template == null) {
+                StringResourceRepository repo = StringResourceLoader.getRepository();
+                try {
+                    repo.putStringResource(name, templateUrl != null ? loadResource(templateUrl) : loadResource(templateResource));
+                } catch (Exception e) {
+                    throw new RuntimeException(TEMPLATE_READER_FAILURE, e);
+                }
+                template = velocityEngine.getTemplate(name);
+                templates.put(name, template);
+            }
+            return template;
+        }
+    }
 
+    private void loadDirectives(Set<Class<? extends Directive>> directives) {
+        if (directives == null) {
+            return;
+        }
+        for (Class<? extends Directive> directive : directives) {
+            if (!this.directives.contains(directive.getCanonicalName())) {
+                synchronized (templates) {
+                    if (this.directives.add(directive.getCanonicalName())) {
+                        velocityEngine.loadDirective(directive.getCanonicalName());
+                        //Templates parsed before the directive was known need to be parsed again.
+                        templates.clear();
+                    }
+                }
+            }
+        }
     }
 
     public VelocityEngine getVelocityEngine() {
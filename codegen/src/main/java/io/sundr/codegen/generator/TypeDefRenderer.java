@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.generator;
+
+import io.sundr.codegen.model.Method;
+import io.sundr.codegen.model.Property;
+import io.sundr.codegen.model.Statement;
+import io.sundr.codegen.model.TypeDef;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Collections;
+
+import static io.sundr.codegen.model.Attributeable.INIT;
+
+/**
+ * Renders a {@link TypeDef} directly to a {@link Writer}, without going through velocity.
+ * The output is identical to the one produced by the builder source file template (templates/builder/sourcefile.vm)
+ * and its directives, so the two can be used interchangeably. Custom templates still need to use the {@link CodeGenerator}.
+ */
+public final class TypeDefRenderer {
+
+    private static final String PACKAGE = "package ";
+    private static final String IMPORT = "import ";
+    private static final String PRIVATE_FINAL = "private final ";
+    private static final String EQUALS = " = ";
+    private static final String SPACE = " ";
+    private static final String SEMICOLN = ";";
+    private static final String NEWLINE = "\n";
+    private static final String SQUIGGLE_L = "{";
+    private static final String SQUIGGLE_R = "}";
+
+    private static final String INDENT = "    ";
+    private static final String DOUBLE_INDENT = INDENT + INDENT;
+    private static final String TRIPLE_INDENT = DOUBLE_INDENT + INDENT;
+
+    private TypeDefRenderer() {
+        //Utility Class
+    }
+
+    /**
+     * Renders the source file of the specified type.
+     * @param type      The type to render.
+     * @param writer    The writer to render to.
+     */
+    public static void render(TypeDef type, Writer writer) throws IOException {
+        writer.append(PACKAGE).append(type.getPackageName()).append(SEMICOLN).append(NEWLINE);
+        writer.append(NEWLINE);
+        for (String i : type.getImports()) {
+            writer.append(IMPORT).append(i).append(SEMICOLN).append(NEWLINE);
+        }
+        writer.append(NEWLINE);
+
+        writer.append(type.toString()).append(SQUIGGLE_L).append(NEWLINE);
+        writer.append(NEWLINE);
+        if (!type.isInterface()) {
+            for (Property field : nonNull(type.getProperties())) {
+                writer.append(INDENT);
+                writeField(writer, field);
+                writer.append(NEWLINE);
+            }
+            writer.append(NEWLINE);
+            for (Method constructor : nonNull(type.getConstructors())) {
+                writer.append(INDENT);
+                writeMethod(writer, constructor, false, INDENT, DOUBLE_INDENT, "");
+            }
+        }
+        writer.append(NEWLINE);
+        for (Method method : nonNull(type.getMethods())) {
+            writer.append(INDENT);
+            writeMethod(writer, method, type.isInterface(), INDENT, DOUBLE_INDENT, "");
+            writer.append(NEWLINE);
+        }
+        writer.append(NEWLINE);
+        for (TypeDef innerType : nonNull(type.getInnerTypes())) {
+            writer.append(INDENT);
+            writeInnerType(writer, innerType);
+        }
+        writer.append(NEWLINE);
+        writer.append(NEWLINE).append(SQUIGGLE_R).append(NEWLINE);
+    }
+
+    private static void writeInnerType(Writer writer, TypeDef type) throws IOException {
+        writer.append(type.toString()).append(SQUIGGLE_L).append(NEWLINE);
+        writer.append(NEWLINE);
+        writer.append(INDENT);
+        if (type.isInterface()) {
+            writer.append(INDENT);
+        } else {
+            writer.append(INDENT);
+            for (Property field : nonNull(type.getProperties())) {
+                writer.append(INDENT).append(PRIVATE_FINAL).append(String.valueOf(field.getTypeRef()))
+                        .append(SPACE).append(field.getName()).append(SEMICOLN).append(NEWLINE);
+                writer.append(INDENT);
+            }
+            writer.append(NEWLINE);
+            writer.append(INDENT);
+            for (Method constructor : nonNull(type.getConstructors())) {
+                writer.append(DOUBLE_INDENT);
+                writeMethod(writer, constructor, false, DOUBLE_INDENT, TRIPLE_INDENT, INDENT);
+                writer.append(INDENT);
+            }
+        }
+        writer.append(NEWLINE);
+        for (Method method : nonNull(type.getMethods())) {
+            writer.append(INDENT);
+            writeMethod(writer, method, type.isInterface(), INDENT, DOUBLE_INDENT, "");
+        }
+        writer.append(NEWLINE).append(SQUIGGLE_R).append(NEWLINE);
+    }
+
+    private static void writeField(Writer writer, Property field) throws IOException {
+        writer.append(field.toString());
+        if (field.getAttribute(INIT) != null) {
+            writer.append(EQUALS).append(field.getAttribute(INIT));
+        }
+        writer.append(SEMICOLN);
+    }
+
+    /**
+     * Writes a method the way the method directive does, including the indentation the template adds around statements.
+     */
+    private static void writeMethod(Writer writer, Method method, boolean isInterface, String indent, String statementIndent, String trailingIndent) throws IOException {
+        writer.append(method.toString());
+        if (!method.isAbstract() && !isInterface) {
+            writer.append(SQUIGGLE_L).append(NEWLINE);
+            writer.append(indent);
+            if (method.getBlock() != null) {
+                for (Statement statement : nonNull(method.getBlock().getStatements())) {
+                    writer.append(statementIndent).append(statement.toString()).append(NEWLINE);
+                    writer.append(indent);
+                }
+            }
+            writer.append(trailingIndent);
+            writer.append(SQUIGGLE_R).append(NEWLINE);
+        } else {
+            writer.append(SEMICOLN);
+        }
+    }
+
+    private static <T> Collection<T> nonNull(Collection<T> collection) {
+        return collection != null ? collection : Collections.<T>emptyList();
+    }
+}
@@ -122,19 +122,19 @@ public class BlockFluentImpl<A extends BlockFluent<A>> extends BaseFluent<A> imp
     }
 
     public A addToStringStatementStatements(StringStatement... items){
-            for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_visitables.add(builder);this.statements.add(builder);} return (A)this;
+            for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_addVisitable(null, builder, item);this.statements.add(builder);} return (A)this;
     }
 
     public A addAllToStringStatementStatements(Collection<StringStatement> items){
-            for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_visitables.add(builder);this.statements.add(builder);} return (A)this;
+            for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_addVisitable(null, builder, item);this.statements.add(builder);} return (A)this;
     }
 
     public A removeFromStringStatementStatements(StringStatement... items){
-            for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_visitables.remove(builder);this.statements.remove(builder);} return (A)this;
+            for (StringStatement item : items) {_removeVisitable(this.statements, item, new StringStatementBuilder(item));} return (A)this;
     }
 
     public A removeAllFromStringStatementStatements(Collection<StringStatement> items){
-            for (StringStatement item : items) {StringStatementBuilder builder = new StringStatementBuilder(item);_visitables.remove(builder);this.statements.remove(builder);} return (A)this;
+            for (StringStatement item : items) {_removeVisitable(this.statements, item, new StringStatementBuilder(item));} return (A)this;
     }
 
     public StringStatementStatementsNested<A> addNewStringStatementStatement(){
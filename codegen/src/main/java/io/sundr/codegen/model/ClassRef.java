@@ -19,6 +19,7 @@ package io.sundr.codegen.model;
 import io.sundr.codegen.DefinitionRepository;
 import io.sundr.codegen.utils.StringUtils;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,12 +38,19 @@ public class ClassRef extends TypeRef {
     private final String fullyQualifiedName;
     private final int dimensions;
     private final List<TypeRef> arguments;
+    //Whether the ref was created with a definition, rather than just a name
+    private final boolean defined;
+
+    private volatile Resolution resolution;
+    private int hash;
+    private volatile Set<ClassRef> references;
 
     public ClassRef(TypeDef definition, String fullyQualifiedName, int dimensions, List<TypeRef> arguments, Map<AttributeKey, Object> attributes) {
         super(attributes);
         this.definition = definition != null ? definition : new TypeDefBuilder().build();
         this.dimensions = dimensions;
         this.arguments = arguments;
+        this.defined = definition != null;
         this.fullyQualifiedName = fullyQualifiedName != null ? fullyQualifiedName : (definition != null ? definition.getFullyQualifiedName() : null);
         if (definition != null) {
             DefinitionRepository.getRepository().registerIfAbsent(definition);
@@ -50,7 +58,28 @@ public class ClassRef extends TypeRef {
     }
 
     public TypeDef getDefinition() {
-        return DefinitionRepository.getRepository().getDefinition(fullyQualifiedName);
+        return resolve().definition;
+    }
+
+    /**
+     * Resolves the definition once per repository and version of the repository.
+     * If the repository doesn't know the definition, e.g. because the ref was created outside of the compilation,
+     * the definition the ref was created with is used. Such resolutions are not kept, as registering the name
+     * later on doesn't change the version of the repository.
+     */
+    private Resolution resolve() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        long version = repository.getVersion();
+        Resolution current = resolution;
+        if (current == null || current.repository != repository || current.version != version) {
+            TypeDef resolved = repository.getDefinition(fullyQualifiedName);
+            if (resolved == null) {
+                return new Resolution(repository, version, defined ? definition : null);
+            }
+            current = new Resolution(repository, version, resolved);
+            resolution = current;
+        }
+        return current;
     }
 
 
@@ -66,6 +95,13 @@ public class ClassRef extends TypeRef {
         return arguments;
     }
 
+    /**
+     * @return  The definition this ref was created with, as opposed to the one currently in the repository.
+     */
+    TypeDef getDefinitionInstance() {
+        return definition;
+    }
+
     public ClassRef withDimensions(int dimensions) {
         return new ClassRefBuilder(this).withDimensions(dimensions).build();
     }
@@ -102,6 +138,15 @@ public class ClassRef extends TypeRef {
     }
 
     public Set<ClassRef> getReferences() {
+        Set<ClassRef> current = references;
+        if (current == null) {
+            current = Collections.unmodifiableSet(collectReferences());
+            references = current;
+        }
+        return current;
+    }
+
+    private Set<ClassRef> collectReferences() {
         Set<ClassRef> refs = new LinkedHashSet<ClassRef>();
         for (TypeRef argument : arguments) {
             if (argument instanceof ClassRef) {
@@ -117,21 +162,31 @@ public class ClassRef extends TypeRef {
      * to a class with the same name but different package has been made already.
      */
     private boolean requiresFullyQualifiedName() {
-        Map<String, String> referenceMap = DefinitionRepository.getRepository().getReferenceMap();
-        if (referenceMap != null && referenceMap.containsKey(definition.getName())) {
-            String fqn = referenceMap.get(definition.getName());
-            if (!getDefinition().getFullyQualifiedName().equals(fqn)) {
-                return true;
+        Resolution current = resolve();
+        Boolean requiresFullyQualifiedName = current.requiresFullyQualifiedName;
+        if (requiresFullyQualifiedName == null) {
+            requiresFullyQualifiedName = false;
+            Map<String, String> referenceMap = current.repository.getReferenceMap();
+            if (current.definition != null && referenceMap != null && referenceMap.containsKey(definition.getName())) {
+                String fqn = referenceMap.get(definition.getName());
+                if (!current.definition.getFullyQualifiedName().equals(fqn)) {
+                    requiresFullyQualifiedName = true;
+                }
             }
+            current.requiresFullyQualifiedName = requiresFullyQualifiedName;
         }
-        return false;
+        return requiresFullyQualifiedName;
     }
 
     public String getName() {
+        TypeDef definition = getDefinition();
+        if (definition == null) {
+            return fullyQualifiedName != null ? fullyQualifiedName : UNKNOWN;
+        }
         if (requiresFullyQualifiedName()) {
-            return getDefinition().getFullyQualifiedName();
+            return definition.getFullyQualifiedName();
         }
-        return getDefinition().getName();
+        return definition.getName();
     }
 
     @Override
@@ -149,9 +204,13 @@ public class ClassRef extends TypeRef {
 
     @Override
     public int hashCode() {
-        int result = definition != null ? definition.hashCode() : 0;
-        result = 31 * result + dimensions;
-        result = 31 * result + (arguments != null ? arguments.hashCode() : 0);
+        int result = hash;
+        if (result == 0) {
+            result = definition != null ? definition.hashCode() : 0;
+            result = 31 * result + dimensions;
+            result = 31 * result + (arguments != null ? arguments.hashCode() : 0);
+            hash = result;
+        }
         return result;
     }
 
@@ -160,17 +219,17 @@ public class ClassRef extends TypeRef {
         StringBuilder sb = new StringBuilder();
         TypeDef definition = getDefinition();
         if (definition == null) {
-            sb.append(UNKNOWN);
-        }
-
-        if (requiresFullyQualifiedName()) {
-            sb.append(definition.getPackageName()).append(DOT);
-        }
-
-        if (definition.getOuterType() != null) {
-            sb.append(definition.getOuterType().getName()).append(DOT).append(definition.getName());
+            sb.append(fullyQualifiedName != null ? fullyQualifiedName : UNKNOWN);
         } else {
-            sb.append(definition.getName());
+            if (requiresFullyQualifiedName()) {
+                sb.append(definition.getPackageName()).append(DOT);
+            }
+
+            if (definition.getOuterType() != null) {
+                sb.append(definition.getOuterType().getName()).append(DOT).append(definition.getName());
+            } else {
+                sb.append(definition.getName());
+            }
         }
 
         if (arguments.size() > 0) {
@@ -184,4 +243,18 @@ public class ClassRef extends TypeRef {
         }
         return sb.toString();
     }
+
+    private static final class Resolution {
+
+        private final DefinitionRepository repository;
+        private final long version;
+        private final TypeDef definition;
+        private volatile Boolean requiresFullyQualifiedName;
+
+        private Resolution(DefinitionRepository repository, long version, TypeDef definition) {
+            this.repository = repository;
+            this.version = version;
+            this.definition = definition;
+        }
+    }
 }
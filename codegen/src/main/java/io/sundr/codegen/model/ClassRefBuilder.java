@@ -73,7 +73,7 @@ public class ClassRefBuilder extends ClassRefFluentImpl<ClassRefBuilder> impleme
     }
 
     public EditableClassRef build() {
-        EditableClassRef buildable = new EditableClassRef(fluent.getDefinition(), fluent.getFullyQualifiedName(), fluent.getDimensions(), fluent.getArguments(), fluent.getAttributes());
+        EditableClassRef buildable = TypeRefInterner.intern(new EditableClassRef(fluent.getDefinition(), fluent.getFullyQualifiedName(), fluent.getDimensions(), fluent.getArguments(), fluent.getAttributes()));
         validate(buildable);
         return buildable;
     }
@@ -208,19 +208,19 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A addToVoidRefArguments(VoidRef... items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A addAllToVoidRefArguments(Collection<VoidRef> items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A removeFromVoidRefArguments(VoidRef... items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (VoidRef item : items) {_removeVisitable(this.arguments, item, new VoidRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromVoidRefArguments(Collection<VoidRef> items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (VoidRef item : items) {_removeVisitable(this.arguments, item, new VoidRefBuilder(item));} return (A)this;
     }
 
     public VoidRefArgumentsNested<A> addNewVoidRefArgument(){
@@ -240,19 +240,19 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A addToWildcardRefArguments(WildcardRef... items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A addAllToWildcardRefArguments(Collection<WildcardRef> items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A removeFromWildcardRefArguments(WildcardRef... items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (WildcardRef item : items) {_removeVisitable(this.arguments, item, new WildcardRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromWildcardRefArguments(Collection<WildcardRef> items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (WildcardRef item : items) {_removeVisitable(this.arguments, item, new WildcardRefBuilder(item));} return (A)this;
     }
 
     public WildcardRefArgumentsNested<A> addNewWildcardRefArgument(){
@@ -272,19 +272,19 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A addToPrimitiveRefArguments(PrimitiveRef... items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A addAllToPrimitiveRefArguments(Collection<PrimitiveRef> items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A removeFromPrimitiveRefArguments(PrimitiveRef... items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (PrimitiveRef item : items) {_removeVisitable(this.arguments, item, new PrimitiveRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromPrimitiveRefArguments(Collection<PrimitiveRef> items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (PrimitiveRef item : items) {_removeVisitable(this.arguments, item, new PrimitiveRefBuilder(item));} return (A)this;
     }
 
     public PrimitiveRefArgumentsNested<A> addNewPrimitiveRefArgument(){
@@ -304,19 +304,19 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A addToTypeParamRefArguments(TypeParamRef... items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A addAllToTypeParamRefArguments(Collection<TypeParamRef> items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A removeFromTypeParamRefArguments(TypeParamRef... items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (TypeParamRef item : items) {_removeVisitable(this.arguments, item, new TypeParamRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromTypeParamRefArguments(Collection<TypeParamRef> items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (TypeParamRef item : items) {_removeVisitable(this.arguments, item, new TypeParamRefBuilder(item));} return (A)this;
     }
 
     public TypeParamRefArgumentsNested<A> addNewTypeParamRefArgument(){
@@ -336,19 +336,19 @@ public class ClassRefFluentImpl<A extends ClassRefFluent<A>> extends TypeRefFlue
     }
 
     public A addToClassRefArguments(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A addAllToClassRefArguments(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A removeFromClassRefArguments(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.arguments, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromClassRefArguments(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.arguments, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public ClassRefArgumentsNested<A> addNewClassRefArgument(){
@@ -39,6 +39,8 @@ public class Method extends ModifierSupport {
     private final List<ClassRef> exceptions;
     private final Block block;
 
+    private volatile Set<ClassRef> references;
+
     public Method(List<String> comments, List<AnnotationRef> annotations, List<TypeParamDef> parameters, String name, TypeRef returnType, List<Property> arguments, boolean varArgPreferred, List<ClassRef> exceptions, Block block, int modifiers, Map<AttributeKey, Object> attributes) {
         super(modifiers, attributes);
         this.comments = comments != null ? comments : Collections.<String>emptyList();
@@ -91,6 +93,15 @@ public class Method extends ModifierSupport {
 
 
     public Set<ClassRef> getReferences() {
+        Set<ClassRef> current = references;
+        if (current == null) {
+            current = Collections.unmodifiableSet(collectReferences());
+            references = current;
+        }
+        return current;
+    }
+
+    private Set<ClassRef> collectReferences() {
         Set<ClassRef> refs = new LinkedHashSet<ClassRef>();
         if (returnType instanceof ClassRef) {
             ClassRef classRef = (ClassRef) returnType;
@@ -119,19 +119,19 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A addToAnnotations(AnnotationRef... items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.add(builder);this.annotations.add(builder);} return (A)this;
+            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_addVisitable(null, builder, item);this.annotations.add(builder);} return (A)this;
     }
 
     public A addAllToAnnotations(Collection<AnnotationRef> items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.add(builder);this.annotations.add(builder);} return (A)this;
+            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_addVisitable(null, builder, item);this.annotations.add(builder);} return (A)this;
     }
 
     public A removeFromAnnotations(AnnotationRef... items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.remove(builder);this.annotations.remove(builder);} return (A)this;
+            for (AnnotationRef item : items) {_removeVisitable(this.annotations, item, new AnnotationRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromAnnotations(Collection<AnnotationRef> items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.remove(builder);this.annotations.remove(builder);} return (A)this;
+            for (AnnotationRef item : items) {_removeVisitable(this.annotations, item, new AnnotationRefBuilder(item));} return (A)this;
     }
 
     
@@ -193,19 +193,19 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A addToParameters(TypeParamDef... items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.add(builder);this.parameters.add(builder);} return (A)this;
+            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_addVisitable(null, builder, item);this.parameters.add(builder);} return (A)this;
     }
 
     public A addAllToParameters(Collection<TypeParamDef> items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.add(builder);this.parameters.add(builder);} return (A)this;
+            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_addVisitable(null, builder, item);this.parameters.add(builder);} return (A)this;
     }
 
     public A removeFromParameters(TypeParamDef... items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.remove(builder);this.parameters.remove(builder);} return (A)this;
+            for (TypeParamDef item : items) {_removeVisitable(this.parameters, item, new TypeParamDefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromParameters(Collection<TypeParamDef> items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.remove(builder);this.parameters.remove(builder);} return (A)this;
+            for (TypeParamDef item : items) {_removeVisitable(this.parameters, item, new TypeParamDefBuilder(item));} return (A)this;
     }
 
 
@@ -363,33 +363,31 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
 
     public A addToArguments(int index, Property item) {
         PropertyBuilder builder = new PropertyBuilder(item);
-        _visitables.add(index >= 0 ? index : _visitables.size(), builder);
-        this.arguments.add(index >= 0 ? index : arguments.size(), builder);
+        if (index < 0 || index == arguments.size()) { _addVisitable(null, builder, item); arguments.add(builder); } else { _addVisitable(arguments.get(index), builder, item); arguments.add(index, builder);}
         return (A) this;
 
     }
 
     public A setToArguments(int index,Property item){
         PropertyBuilder builder = new PropertyBuilder(item);
-        if (index < 0 || index >= _visitables.size()) { _visitables.add(builder); } else { _visitables.set(index, builder);}
-        if (index < 0 || index >= arguments.size()) { arguments.add(builder); } else { arguments.set(index, builder);}
+        if (index < 0 || index >= arguments.size()) { _addVisitable(null, builder, item); arguments.add(builder); } else { _replaceVisitable(arguments.set(index, builder), builder, item);}
         return (A) this;
     }
 
     public A addToArguments(Property... items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A addAllToArguments(Collection<Property> items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.add(builder);this.arguments.add(builder);} return (A)this;
+            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_addVisitable(null, builder, item);this.arguments.add(builder);} return (A)this;
     }
 
     public A removeFromArguments(Property... items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (Property item : items) {_removeVisitable(this.arguments, item, new PropertyBuilder(item));} return (A)this;
     }
 
     public A removeAllFromArguments(Collection<Property> items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.remove(builder);this.arguments.remove(builder);} return (A)this;
+            for (Property item : items) {_removeVisitable(this.arguments, item, new PropertyBuilder(item));} return (A)this;
     }
 
 
@@ -463,19 +461,19 @@ public class MethodFluentImpl<A extends MethodFluent<A>> extends ModifierSupport
     }
 
     public A addToExceptions(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.exceptions.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.exceptions.add(builder);} return (A)this;
     }
 
     public A addAllToExceptions(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.exceptions.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.exceptions.add(builder);} return (A)this;
     }
 
     public A removeFromExceptions(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.exceptions.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.exceptions, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromExceptions(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.exceptions.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.exceptions, item, new ClassRefBuilder(item));} return (A)this;
     }
 
 
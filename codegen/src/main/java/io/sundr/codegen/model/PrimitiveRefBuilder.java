@@ -69,7 +69,7 @@ public class PrimitiveRefBuilder extends PrimitiveRefFluentImpl<PrimitiveRefBuil
     }
 
     public EditablePrimitiveRef build() {
-        EditablePrimitiveRef buildable = new EditablePrimitiveRef(fluent.getName(), fluent.getDimensions(), fluent.getAttributes());
+        EditablePrimitiveRef buildable = TypeRefInterner.intern(new EditablePrimitiveRef(fluent.getName(), fluent.getDimensions(), fluent.getAttributes()));
         validate(buildable);
         return buildable;
     }
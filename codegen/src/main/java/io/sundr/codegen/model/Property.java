@@ -18,6 +18,7 @@ package io.sundr.codegen.model;
 
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,8 @@ public class Property extends ModifierSupport {
     private final TypeRef typeRef;
     private final String name;
 
+    private volatile Set<ClassRef> references;
+
     public Property(List<AnnotationRef> annotations, TypeRef typeRef, String name, int modifiers, Map<AttributeKey, Object> attributes) {
         super(modifiers, attributes);
         this.annotations = annotations;
@@ -58,6 +61,15 @@ public class Property extends ModifierSupport {
     }
 
     public Set<ClassRef> getReferences() {
+        Set<ClassRef> current = references;
+        if (current == null) {
+            current = Collections.unmodifiableSet(collectReferences());
+            references = current;
+        }
+        return current;
+    }
+
+    private Set<ClassRef> collectReferences() {
         Set<ClassRef> refs = new LinkedHashSet<ClassRef>();
         if (typeRef instanceof ClassRef) {
             ClassRef classRef = (ClassRef) typeRef;
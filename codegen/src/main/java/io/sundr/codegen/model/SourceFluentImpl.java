@@ -45,19 +45,19 @@ public class SourceFluentImpl<A extends SourceFluent<A>> extends BaseFluent<A> i
     }
 
     public A addToTypes(TypeDef... items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.add(builder);this.types.add(builder);} return (A)this;
+            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_addVisitable(null, builder, item);this.types.add(builder);} return (A)this;
     }
 
     public A addAllToTypes(Collection<TypeDef> items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.add(builder);this.types.add(builder);} return (A)this;
+            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_addVisitable(null, builder, item);this.types.add(builder);} return (A)this;
     }
 
     public A removeFromTypes(TypeDef... items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.remove(builder);this.types.remove(builder);} return (A)this;
+            for (TypeDef item : items) {_removeVisitable(this.types, item, new TypeDefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromTypes(Collection<TypeDef> items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.remove(builder);this.types.remove(builder);} return (A)this;
+            for (TypeDef item : items) {_removeVisitable(this.types, item, new TypeDefBuilder(item));} return (A)this;
     }
 
     
@@ -16,6 +16,7 @@
 
 package io.sundr.codegen.model;
 
+import io.sundr.codegen.DefinitionRepository;
 import io.sundr.codegen.utils.StringUtils;
 
 import java.util.ArrayList;
@@ -58,6 +59,9 @@ public class TypeDef extends ModifierSupport {
     private final TypeDef outerType;
     private final List<TypeDef> innerTypes;
 
+    private volatile List<ClassRef> references;
+    private volatile Imports imports;
+
     public TypeDef(Kind kind, String packageName, String name, List<AnnotationRef> annotations, List<ClassRef> extendsList, List<ClassRef> implementsList, List<TypeParamDef> parameters, List<Property> properties, List<Method> constructors, List<Method> methods, TypeDef outerType, List<TypeDef> innerTypes, int modifiers, Map<AttributeKey, Object> attributes) {
         super(modifiers, attributes);
         this.kind = kind != null ? kind : Kind.CLASS;
@@ -307,7 +311,22 @@ public class TypeDef extends ModifierSupport {
                 .build();
     }
 
+    /**
+     * Returns the imports required by this type.
+     * The result is computed once for each version of the {@link DefinitionRepository}, as it depends on how references are resolved.
+     */
     public Set<String> getImports() {
+        DefinitionRepository repository = DefinitionRepository.getRepository();
+        long version = repository.getVersion();
+        Imports current = imports;
+        if (current == null || current.repository != repository || current.version != version) {
+            current = new Imports(repository, version, Collections.unmodifiableSet(computeImports()));
+            imports = current;
+        }
+        return current.imports;
+    }
+
+    private Set<String> computeImports() {
         final Set<String> imports = new LinkedHashSet<String>();
         for (ClassRef ref : getReferenceMap().values()) {
             TypeDef definition = ref.getDefinition();
@@ -329,7 +348,7 @@ public class TypeDef extends ModifierSupport {
      */
     private Map<String, ClassRef> getReferenceMap() {
         Map<String, ClassRef> mapping = new HashMap<String, ClassRef>();
-        List<ClassRef> refs = getReferences();
+        List<ClassRef> refs = new ArrayList<ClassRef>(getReferences());
 
         //It's best to have predictable order, so that we can generate uniform code.
         Collections.sort(refs, new Comparator<ClassRef>() {
@@ -348,7 +367,20 @@ public class TypeDef extends ModifierSupport {
         return mapping;
     }
 
+    /**
+     * Returns all the class references found in this type (including inner types).
+     * The type is immutable, so the references are only collected once.
+     */
     public List<ClassRef> getReferences() {
+        List<ClassRef> current = references;
+        if (current == null) {
+            current = Collections.unmodifiableList(collectReferences());
+            references = current;
+        }
+        return current;
+    }
+
+    private List<ClassRef> collectReferences() {
         final List<ClassRef> refs = new ArrayList<ClassRef>();
 
         for (AnnotationRef a : annotations) {
@@ -444,4 +476,17 @@ public class TypeDef extends ModifierSupport {
 
         return sb.toString();
     }
+
+    private static final class Imports {
+
+        private final DefinitionRepository repository;
+        private final long version;
+        private final Set<String> imports;
+
+        private Imports(DefinitionRepository repository, long version, Set<String> imports) {
+            this.repository = repository;
+            this.version = version;
+            this.imports = imports;
+        }
+    }
 }
@@ -104,19 +104,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToAnnotations(AnnotationRef... items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.add(builder);this.annotations.add(builder);} return (A)this;
+            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_addVisitable(null, builder, item);this.annotations.add(builder);} return (A)this;
     }
 
     public A addAllToAnnotations(Collection<AnnotationRef> items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.add(builder);this.annotations.add(builder);} return (A)this;
+            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_addVisitable(null, builder, item);this.annotations.add(builder);} return (A)this;
     }
 
     public A removeFromAnnotations(AnnotationRef... items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.remove(builder);this.annotations.remove(builder);} return (A)this;
+            for (AnnotationRef item : items) {_removeVisitable(this.annotations, item, new AnnotationRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromAnnotations(Collection<AnnotationRef> items){
-            for (AnnotationRef item : items) {AnnotationRefBuilder builder = new AnnotationRefBuilder(item);_visitables.remove(builder);this.annotations.remove(builder);} return (A)this;
+            for (AnnotationRef item : items) {_removeVisitable(this.annotations, item, new AnnotationRefBuilder(item));} return (A)this;
     }
 
     
@@ -178,19 +178,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToExtendsList(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.extendsList.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.extendsList.add(builder);} return (A)this;
     }
 
     public A addAllToExtendsList(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.extendsList.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.extendsList.add(builder);} return (A)this;
     }
 
     public A removeFromExtendsList(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.extendsList.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.extendsList, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromExtendsList(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.extendsList.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.extendsList, item, new ClassRefBuilder(item));} return (A)this;
     }
 
 
@@ -252,19 +252,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToImplementsList(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.implementsList.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.implementsList.add(builder);} return (A)this;
     }
 
     public A addAllToImplementsList(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.implementsList.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.implementsList.add(builder);} return (A)this;
     }
 
     public A removeFromImplementsList(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.implementsList.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.implementsList, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromImplementsList(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.implementsList.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.implementsList, item, new ClassRefBuilder(item));} return (A)this;
     }
 
 
@@ -326,19 +326,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToParameters(TypeParamDef... items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.add(builder);this.parameters.add(builder);} return (A)this;
+            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_addVisitable(null, builder, item);this.parameters.add(builder);} return (A)this;
     }
 
     public A addAllToParameters(Collection<TypeParamDef> items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.add(builder);this.parameters.add(builder);} return (A)this;
+            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_addVisitable(null, builder, item);this.parameters.add(builder);} return (A)this;
     }
 
     public A removeFromParameters(TypeParamDef... items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.remove(builder);this.parameters.remove(builder);} return (A)this;
+            for (TypeParamDef item : items) {_removeVisitable(this.parameters, item, new TypeParamDefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromParameters(Collection<TypeParamDef> items){
-            for (TypeParamDef item : items) {TypeParamDefBuilder builder = new TypeParamDefBuilder(item);_visitables.remove(builder);this.parameters.remove(builder);} return (A)this;
+            for (TypeParamDef item : items) {_removeVisitable(this.parameters, item, new TypeParamDefBuilder(item));} return (A)this;
     }
 
 
@@ -400,19 +400,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToProperties(Property... items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.add(builder);this.properties.add(builder);} return (A)this;
+            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_addVisitable(null, builder, item);this.properties.add(builder);} return (A)this;
     }
 
     public A addAllToProperties(Collection<Property> items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.add(builder);this.properties.add(builder);} return (A)this;
+            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_addVisitable(null, builder, item);this.properties.add(builder);} return (A)this;
     }
 
     public A removeFromProperties(Property... items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.remove(builder);this.properties.remove(builder);} return (A)this;
+            for (Property item : items) {_removeVisitable(this.properties, item, new PropertyBuilder(item));} return (A)this;
     }
 
     public A removeAllFromProperties(Collection<Property> items){
-            for (Property item : items) {PropertyBuilder builder = new PropertyBuilder(item);_visitables.remove(builder);this.properties.remove(builder);} return (A)this;
+            for (Property item : items) {_removeVisitable(this.properties, item, new PropertyBuilder(item));} return (A)this;
     }
 
 
@@ -474,19 +474,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToConstructors(Method... items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.add(builder);this.constructors.add(builder);} return (A)this;
+            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_addVisitable(null, builder, item);this.constructors.add(builder);} return (A)this;
     }
 
     public A addAllToConstructors(Collection<Method> items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.add(builder);this.constructors.add(builder);} return (A)this;
+            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_addVisitable(null, builder, item);this.constructors.add(builder);} return (A)this;
     }
 
     public A removeFromConstructors(Method... items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.remove(builder);this.constructors.remove(builder);} return (A)this;
+            for (Method item : items) {_removeVisitable(this.constructors, item, new MethodBuilder(item));} return (A)this;
     }
 
     public A removeAllFromConstructors(Collection<Method> items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.remove(builder);this.constructors.remove(builder);} return (A)this;
+            for (Method item : items) {_removeVisitable(this.constructors, item, new MethodBuilder(item));} return (A)this;
     }
 
 
@@ -548,19 +548,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToMethods(Method... items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.add(builder);this.methods.add(builder);} return (A)this;
+            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_addVisitable(null, builder, item);this.methods.add(builder);} return (A)this;
     }
 
     public A addAllToMethods(Collection<Method> items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.add(builder);this.methods.add(builder);} return (A)this;
+            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_addVisitable(null, builder, item);this.methods.add(builder);} return (A)this;
     }
 
     public A removeFromMethods(Method... items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.remove(builder);this.methods.remove(builder);} return (A)this;
+            for (Method item : items) {_removeVisitable(this.methods, item, new MethodBuilder(item));} return (A)this;
     }
 
     public A removeAllFromMethods(Collection<Method> items){
-            for (Method item : items) {MethodBuilder builder = new MethodBuilder(item);_visitables.remove(builder);this.methods.remove(builder);} return (A)this;
+            for (Method item : items) {_removeVisitable(this.methods, item, new MethodBuilder(item));} return (A)this;
     }
 
 
@@ -663,19 +663,19 @@ public class TypeDefFluentImpl<A extends TypeDefFluent<A>> extends ModifierSuppo
     }
 
     public A addToInnerTypes(TypeDef... items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.add(builder);this.innerTypes.add(builder);} return (A)this;
+            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_addVisitable(null, builder, item);this.innerTypes.add(builder);} return (A)this;
     }
 
     public A addAllToInnerTypes(Collection<TypeDef> items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.add(builder);this.innerTypes.add(builder);} return (A)this;
+            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_addVisitable(null, builder, item);this.innerTypes.add(builder);} return (A)this;
     }
 
     public A removeFromInnerTypes(TypeDef... items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.remove(builder);this.innerTypes.remove(builder);} return (A)this;
+            for (TypeDef item : items) {_removeVisitable(this.innerTypes, item, new TypeDefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromInnerTypes(Collection<TypeDef> items){
-            for (TypeDef item : items) {TypeDefBuilder builder = new TypeDefBuilder(item);_visitables.remove(builder);this.innerTypes.remove(builder);} return (A)this;
+            for (TypeDef item : items) {_removeVisitable(this.innerTypes, item, new TypeDefBuilder(item));} return (A)this;
     }
 
 
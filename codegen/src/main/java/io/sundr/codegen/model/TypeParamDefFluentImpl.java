@@ -59,19 +59,19 @@ public class TypeParamDefFluentImpl<A extends TypeParamDefFluent<A>> extends Att
     }
 
     public A addToBounds(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A addAllToBounds(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A removeFromBounds(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.bounds, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromBounds(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.bounds, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     
@@ -69,7 +69,7 @@ public class TypeParamRefBuilder extends TypeParamRefFluentImpl<TypeParamRefBuil
     }
 
     public EditableTypeParamRef build() {
-        EditableTypeParamRef buildable = new EditableTypeParamRef(fluent.getName(), fluent.getDimensions(), fluent.getAttributes());
+        EditableTypeParamRef buildable = TypeRefInterner.intern(new EditableTypeParamRef(fluent.getName(), fluent.getDimensions(), fluent.getAttributes()));
         validate(buildable);
         return buildable;
     }
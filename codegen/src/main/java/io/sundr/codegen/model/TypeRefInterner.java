@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.model;
+
+import io.sundr.codegen.CodegenContext;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonicalizes type references, so that structurally identical references share a single instance.
+ * Each {@link CodegenContext} owns an interner, so canonical instances never outlive their compilation.
+ * References are held weakly, so unused canonical instances can still be collected before that.
+ * <p>
+ * Two references are identical when they are of the same class, have the same attributes and, for class references,
+ * point to the same {@link TypeDef} instance. This is stricter than {@link Object#equals(Object)}, which ignores
+ * attributes and compares definitions by name, so interning never changes what a reference resolves to.
+ */
+public final class TypeRefInterner {
+
+    private final ReferenceQueue<TypeRef> queue = new ReferenceQueue<TypeRef>();
+    private final ConcurrentMap<Entry, Entry> entries = new ConcurrentHashMap<Entry, Entry>();
+
+    /**
+     * Interns the reference with the interner of the {@link CodegenContext} bound to the current thread.
+     * @param ref   The reference.
+     * @return      The canonical instance of the reference, or the reference itself if no context is bound.
+     */
+    public static <T extends TypeRef> T intern(T ref) {
+        CodegenContext context = CodegenContext.current();
+        return context != null ? context.getInterner().canonical(ref) : ref;
+    }
+
+    /**
+     * @param ref   The reference.
+     * @return      The canonical instance of the reference.
+     */
+    public <T extends TypeRef> T canonical(T ref) {
+        if (ref == null || ref instanceof VoidRef) {
+            return ref;
+        }
+        expunge();
+        Entry entry = new Entry(ref, queue);
+        while (true) {
+            Entry existing = entries.putIfAbsent(entry, entry);
+            if (existing == null) {
+                return ref;
+            }
+            TypeRef canonical = existing.get();
+            if (canonical != null) {
+                return (T) canonical;
+            }
+            entries.remove(existing, existing);
+        }
+    }
+
+    /**
+     * @return  The number of canonical instances currently held.
+     */
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    private void expunge() {
+        Object cleared;
+        while ((cleared = queue.poll()) != null) {
+            entries.remove(cleared, cleared);
+        }
+    }
+
+    private static int hash(TypeRef ref) {
+        int result = ref.getClass().hashCode();
+        Map<AttributeKey, Object> attributes = ref.getAttributes();
+        result = 31 * result + (attributes != null ? attributes.size() : -1);
+        if (ref instanceof ClassRef) {
+            ClassRef classRef = (ClassRef) ref;
+            result = 31 * result + System.identityHashCode(classRef.getDefinitionInstance());
+            result = 31 * result + classRef.getDimensions();
+            result = 31 * result + hash(classRef.getArguments());
+        } else if (ref instanceof TypeParamRef) {
+            result = 31 * result + String.valueOf(((TypeParamRef) ref).getName()).hashCode();
+            result = 31 * result + ref.getDimensions();
+        } else if (ref instanceof PrimitiveRef) {
+            result = 31 * result + String.valueOf(((PrimitiveRef) ref).getName()).hashCode();
+            result = 31 * result + ref.getDimensions();
+        } else if (ref instanceof WildcardRef) {
+            result = 31 * result + hash(((WildcardRef) ref).getBounds());
+        } else {
+            result = 31 * result + System.identityHashCode(ref);
+        }
+        return result;
+    }
+
+    private static int hash(List<TypeRef> refs) {
+        if (refs == null) {
+            return 0;
+        }
+        int result = 1;
+        for (TypeRef ref : refs) {
+            result = 31 * result + (ref != null ? hash(ref) : 0);
+        }
+        return result;
+    }
+
+    private static boolean identical(TypeRef left, TypeRef right) {
+        if (left == right) {
+            return true;
+        } else if (left == null || right == null || left.getClass() != right.getClass()) {
+            return false;
+        }
+
+        Map<AttributeKey, Object> leftAttributes = left.getAttributes();
+        Map<AttributeKey, Object> rightAttributes = right.getAttributes();
+        if (leftAttributes != null ? !leftAttributes.equals(rightAttributes) : rightAttributes != null) {
+            return false;
+        }
+
+        if (left instanceof ClassRef) {
+            ClassRef l = (ClassRef) left;
+            ClassRef r = (ClassRef) right;
+            return l.getDefinitionInstance() == r.getDefinitionInstance()
+                    && equal(l.getFullyQualifiedName(), r.getFullyQualifiedName())
+                    && l.getDimensions() == r.getDimensions()
+                    && identical(l.getArguments(), r.getArguments());
+        } else if (left instanceof TypeParamRef) {
+            return equal(((TypeParamRef) left).getName(), ((TypeParamRef) right).getName())
+                    && left.getDimensions() == right.getDimensions();
+        } else if (left instanceof PrimitiveRef) {
+            return equal(((PrimitiveRef) left).getName(), ((PrimitiveRef) right).getName())
+                    && left.getDimensions() == right.getDimensions();
+        } else if (left instanceof WildcardRef) {
+            return identical(((WildcardRef) left).getBounds(), ((WildcardRef) right).getBounds());
+        }
+        return false;
+    }
+
+    private static boolean identical(List<TypeRef> left, List<TypeRef> right) {
+        if (left == right) {
+            return true;
+        } else if (left == null || right == null || left.size() != right.size()) {
+            return false;
+        }
+        for (int i = 0; i < left.size(); i++) {
+            if (!identical(left.get(i), right.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equal(Object left, Object right) {
+        return left != null ? left.equals(right) : right == null;
+    }
+
+    private static final class Entry extends WeakReference<TypeRef> {
+
+        private final int hash;
+
+        private Entry(TypeRef ref, ReferenceQueue<TypeRef> queue) {
+            super(ref, queue);
+            this.hash = hash(ref);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+
+            Entry that = (Entry) o;
+            if (hash != that.hash) return false;
+            TypeRef ref = get();
+            return ref != null && identical(ref, that.get());
+        }
+    }
+}
@@ -65,7 +65,7 @@ public class WildcardRefBuilder extends WildcardRefFluentImpl<WildcardRefBuilder
     }
 
     public EditableWildcardRef build() {
-        EditableWildcardRef buildable = new EditableWildcardRef(fluent.getBounds(), fluent.getAttributes());
+        EditableWildcardRef buildable = TypeRefInterner.intern(new EditableWildcardRef(fluent.getBounds(), fluent.getAttributes()));
         validate(buildable);
         return buildable;
     }
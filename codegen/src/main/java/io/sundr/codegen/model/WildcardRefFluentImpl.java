@@ -147,19 +147,19 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A addToVoidRefBounds(VoidRef... items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A addAllToVoidRefBounds(Collection<VoidRef> items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A removeFromVoidRefBounds(VoidRef... items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (VoidRef item : items) {_removeVisitable(this.bounds, item, new VoidRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromVoidRefBounds(Collection<VoidRef> items){
-            for (VoidRef item : items) {VoidRefBuilder builder = new VoidRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (VoidRef item : items) {_removeVisitable(this.bounds, item, new VoidRefBuilder(item));} return (A)this;
     }
 
     public VoidRefBoundsNested<A> addNewVoidRefBound(){
@@ -179,19 +179,19 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A addToWildcardRefBounds(WildcardRef... items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A addAllToWildcardRefBounds(Collection<WildcardRef> items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A removeFromWildcardRefBounds(WildcardRef... items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (WildcardRef item : items) {_removeVisitable(this.bounds, item, new WildcardRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromWildcardRefBounds(Collection<WildcardRef> items){
-            for (WildcardRef item : items) {WildcardRefBuilder builder = new WildcardRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (WildcardRef item : items) {_removeVisitable(this.bounds, item, new WildcardRefBuilder(item));} return (A)this;
     }
 
     public WildcardRefBoundsNested<A> addNewWildcardRefBound(){
@@ -211,19 +211,19 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A addToPrimitiveRefBounds(PrimitiveRef... items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A addAllToPrimitiveRefBounds(Collection<PrimitiveRef> items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A removeFromPrimitiveRefBounds(PrimitiveRef... items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (PrimitiveRef item : items) {_removeVisitable(this.bounds, item, new PrimitiveRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromPrimitiveRefBounds(Collection<PrimitiveRef> items){
-            for (PrimitiveRef item : items) {PrimitiveRefBuilder builder = new PrimitiveRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (PrimitiveRef item : items) {_removeVisitable(this.bounds, item, new PrimitiveRefBuilder(item));} return (A)this;
     }
 
     public PrimitiveRefBoundsNested<A> addNewPrimitiveRefBound(){
@@ -243,19 +243,19 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A addToTypeParamRefBounds(TypeParamRef... items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A addAllToTypeParamRefBounds(Collection<TypeParamRef> items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A removeFromTypeParamRefBounds(TypeParamRef... items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (TypeParamRef item : items) {_removeVisitable(this.bounds, item, new TypeParamRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromTypeParamRefBounds(Collection<TypeParamRef> items){
-            for (TypeParamRef item : items) {TypeParamRefBuilder builder = new TypeParamRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (TypeParamRef item : items) {_removeVisitable(this.bounds, item, new TypeParamRefBuilder(item));} return (A)this;
     }
 
     public TypeParamRefBoundsNested<A> addNewTypeParamRefBound(){
@@ -275,19 +275,19 @@ public class WildcardRefFluentImpl<A extends WildcardRefFluent<A>> extends TypeR
     }
 
     public A addToClassRefBounds(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A addAllToClassRefBounds(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.add(builder);this.bounds.add(builder);} return (A)this;
+            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_addVisitable(null, builder, item);this.bounds.add(builder);} return (A)this;
     }
 
     public A removeFromClassRefBounds(ClassRef... items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.bounds, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public A removeAllFromClassRefBounds(Collection<ClassRef> items){
-            for (ClassRef item : items) {ClassRefBuilder builder = new ClassRefBuilder(item);_visitables.remove(builder);this.bounds.remove(builder);} return (A)this;
+            for (ClassRef item : items) {_removeVisitable(this.bounds, item, new ClassRefBuilder(item));} return (A)this;
     }
 
     public ClassRefBoundsNested<A> addNewClassRefBound(){
@@ -18,12 +18,17 @@ package io.sundr.codegen.processor;
 
 import io.sundr.codegen.generator.CodeGeneratorBuilder;
 import io.sundr.codegen.generator.CodeGeneratorContext;
+import io.sundr.codegen.generator.TypeDefRenderer;
 import io.sundr.codegen.model.TypeDef;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.FilerException;
+import javax.lang.model.element.Element;
 import javax.tools.JavaFileObject;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 
 public abstract class JavaGeneratingProcessor extends AbstractProcessor {
 
@@ -32,13 +37,14 @@ public abstract class JavaGeneratingProcessor extends AbstractProcessor {
      * Generates a source file from the specified {@link io.sundr.codegen.model.TypeDef}.
      * @param model                     The model of the class to generate.
      * @param resourceName              The template to use.
+     * @param originatingElements       The elements the class is generated from.
      * @throws IOException
      */
-    public void generateFromClazz(TypeDef model, String resourceName) throws IOException {
+    public void generateFromClazz(TypeDef model, String resourceName, Element... originatingElements) throws IOException {
         try {
             generateFromClazz(model, processingEnv
                     .getFiler()
-                    .createSourceFile(model.getFullyQualifiedName()), resourceName);
+                    .createSourceFile(model.getFullyQualifiedName(), originatingElements), resourceName);
         } catch (FilerException e) {
             //TODO: Need to avoid dublicate interfaces here.
         }
@@ -54,6 +60,15 @@ public abstract class JavaGeneratingProcessor extends AbstractProcessor {
      */
    public void generateFromClazz(TypeDef model, JavaFileObject fileObject, String resourceName) throws IOException {
         System.err.println("Generating: "+model.getFullyQualifiedName());
+        if (isRenderable(resourceName)) {
+            Writer writer = new BufferedWriter(fileObject.openWriter());
+            try {
+                TypeDefRenderer.render(model, writer);
+            } finally {
+                writer.close();
+            }
+            return;
+        }
         new CodeGeneratorBuilder<TypeDef>()
                 .withContext(context)
                 .withModel(model)
@@ -62,4 +77,64 @@ public abstract class JavaGeneratingProcessor extends AbstractProcessor {
                 .build()
                 .generate();
     }
+
+    /**
+     * Renders the source file of the specified {@link io.sundr.codegen.model.TypeDef}, without writing it.
+     * Models that can be rendered directly may be rendered concurrently, all others are rendered one at a time.
+     * @param model         The model of the class to render.
+     * @param resourceName  The template to use.
+     * @return              The source of the class.
+     * @throws IOException
+     */
+    public String renderClazz(TypeDef model, String resourceName) throws IOException {
+        StringWriter writer = new StringWriter();
+        if (isRenderable(resourceName)) {
+            TypeDefRenderer.render(model, writer);
+        } else {
+            //The velocity context is shared.
+            synchronized (context) {
+                new CodeGeneratorBuilder<TypeDef>()
+                        .withContext(context)
+                        .withModel(model)
+                        .withWriter(writer)
+                        .withTemplateResource(resourceName)
+                        .build()
+                        .generate();
+            }
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes a source file previously rendered with {@link #renderClazz(TypeDef, String)}.
+     * @param model     The model of the class.
+     * @param source    The source of the class.
+     * @param originatingElements   The elements the class is generated from.
+     * @throws IOException
+     */
+    public void writeClazz(TypeDef model, String source, Element... originatingElements) throws IOException {
+        try {
+            JavaFileObject fileObject = processingEnv
+                    .getFiler()
+                    .createSourceFile(model.getFullyQualifiedName(), originatingElements);
+            System.err.println("Generating: "+model.getFullyQualifiedName());
+            Writer writer = fileObject.openWriter();
+            try {
+                writer.write(source);
+            } finally {
+                writer.close();
+            }
+        } catch (FilerException e) {
+            //TODO: Need to avoid dublicate interfaces here.
+        }
+    }
+
+    /**
+     * Checks if the specified template can be replaced by the {@link TypeDefRenderer}.
+     * @param resourceName The template.
+     * @return             True if the model can be rendered directly, false if the template needs to be used.
+     */
+    protected boolean isRenderable(String resourceName) {
+        return false;
+    }
 }
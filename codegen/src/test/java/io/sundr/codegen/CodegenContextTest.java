@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen;
+
+import com.sun.tools.javac.model.JavacElements;
+import com.sun.tools.javac.model.JavacTypes;
+import com.sun.tools.javac.util.Context;
+import io.sundr.codegen.model.ClassRef;
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import org.junit.Test;
+
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CodegenContextTest {
+
+    @Test
+    public void testCompilationsHaveSeparateRepositories() throws Exception {
+        Context first = new Context();
+        Context second = new Context();
+        final Elements firstElements = JavacElements.instance(first);
+        final Types firstTypes = JavacTypes.instance(first);
+        Elements secondElements = JavacElements.instance(second);
+        Types secondTypes = JavacTypes.instance(second);
+
+        TypeDef type = new TypeDefBuilder().withPackageName("io.sundr.test").withName("Scoped").build();
+        CodegenContext firstContext = CodegenContext.create(firstElements, firstTypes);
+        DefinitionRepository.getRepository().register(type);
+        assertSame(firstContext.getDefinitionRepository(), DefinitionRepository.getRepository());
+
+        CodegenContext secondContext = CodegenContext.create(secondElements, secondTypes);
+        assertNull(DefinitionRepository.getRepository().getDefinition("io.sundr.test.Scoped"));
+
+        //A later round of the first compilation, on another thread, sees the same definitions.
+        final AtomicReference<TypeDef> found = new AtomicReference<TypeDef>();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                CodegenContext.create(firstElements, firstTypes);
+                found.set(DefinitionRepository.getRepository().getDefinition("io.sundr.test.Scoped"));
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(found.get());
+        assertSame(secondContext, CodegenContext.getContext());
+        CodegenContext.bind(null);
+    }
+
+    @Test
+    public void testDefinitionsAreNotKeptWithoutContext() {
+        CodegenContext.bind(null);
+        TypeDef unbound = new TypeDefBuilder().withPackageName("io.sundr.test").withName("Unbound").build();
+        assertSame(unbound, DefinitionRepository.getRepository().register(unbound));
+        assertTrue(DefinitionRepository.getRepository().isDetached());
+        assertNull(DefinitionRepository.getRepository().getDefinition("io.sundr.test.Unbound"));
+
+        //A ref created outside of a compilation still resolves to its own definition, but it's not visible to compilations.
+        ClassRef ref = unbound.toInternalReference();
+        Context context = new Context();
+        CodegenContext.create(JavacElements.instance(context), JavacTypes.instance(context));
+        assertNull(DefinitionRepository.getRepository().getDefinition("io.sundr.test.Unbound"));
+        assertSame(unbound, ref.getDefinition());
+        CodegenContext.bind(null);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen;
+
+import io.sundr.codegen.model.AttributeKey;
+import io.sundr.codegen.model.TypeDef;
+import io.sundr.codegen.model.TypeDefBuilder;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DefinitionRepositoryTest {
+
+    private static final AttributeKey<Boolean> GENERATED = new AttributeKey<Boolean>("GENERATED", Boolean.class);
+    private static final AttributeKey<Boolean> ABSTRACT = new AttributeKey<Boolean>("ABSTRACT", Boolean.class);
+
+    private static TypeDef type(String name) {
+        return new TypeDefBuilder().withPackageName("io.sundr.test").withName(name).build();
+    }
+
+    @Test
+    public void testLookupByFlags() {
+        DefinitionRepository repository = new DefinitionRepository();
+        repository.register(type("Plain"));
+        repository.register(type("Generated"), GENERATED);
+        repository.register(type("GeneratedAbstract"), GENERATED, ABSTRACT);
+
+        assertEquals(3, repository.getDefinitions().size());
+        assertEquals(2, repository.getDefinitions(GENERATED).size());
+        assertEquals(Collections.singleton(type("GeneratedAbstract")), repository.getDefinitions(GENERATED, ABSTRACT));
+        //Keys are compared by value, so flags can also be looked up by name.
+        assertEquals(2, repository.getDefinitions("GENERATED").size());
+        assertTrue(repository.getDefinitions("UNKNOWN").isEmpty());
+    }
+
+    @Test
+    public void testReplacedDefinitionsAreReindexed() {
+        DefinitionRepository repository = new DefinitionRepository();
+        repository.register(type("Replaced"), GENERATED);
+        repository.register(type("Replaced"));
+
+        Set<TypeDef> generated = repository.getDefinitions(GENERATED);
+        assertTrue(generated.isEmpty());
+
+        repository.register(type("Replaced"), ABSTRACT);
+        assertEquals(1, repository.getDefinitions(ABSTRACT).size());
+
+        repository.clear();
+        assertTrue(repository.getDefinitions(ABSTRACT).isEmpty());
+    }
+
+    @Test
+    public void testOnlyReplacementsChangeTheVersion() {
+        DefinitionRepository repository = new DefinitionRepository();
+        long version = repository.getVersion();
+
+        repository.registerIfAbsent(type("Absent"));
+        repository.registerIfAbsent(null);
+        assertEquals(version, repository.getVersion());
+        assertEquals(type("Absent"), repository.getDefinition("io.sundr.test.Absent"));
+
+        repository.register(type("Absent"));
+        assertNotEquals(version, repository.getVersion());
+    }
+}
@@ -18,6 +18,8 @@ package io.sundr.codegen.functions;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.TypeDeclaration;
+import io.sundr.codegen.model.Method;
+import io.sundr.codegen.model.Property;
 import io.sundr.codegen.model.TypeDef;
 import org.junit.Assert;
 import org.junit.Test;
@@ -36,4 +38,39 @@ public class PareserTest {
             System.out.print(typeDef);
         }
     }
+
+    @Test
+    public void testArgumentsOfImportedTypes() throws Exception {
+        //The first pass registers the imports, so that the second one finds ClassValue known only by name.
+        Sources.TYPEDEF.apply(Sources.FROM_CLASSPATH_TO_COMPILATIONUNIT.apply("io/sundr/builder/BaseFluent.java").getTypes().get(0));
+        CompilationUnit cu = Sources.FROM_CLASSPATH_TO_COMPILATIONUNIT.apply("io/sundr/builder/BaseFluent.java");
+        TypeDef typeDef = Sources.TYPEDEF.apply(cu.getTypes().get(0));
+
+        Property property = findProperty(typeDef, "VISIT_METHOD_COMPATIBILITY");
+        Assert.assertEquals("ClassValue<ConcurrentMap<Class,Boolean>>", property.getTypeRef().toString());
+    }
+
+    @Test
+    public void testNestedArgumentsOfImportedTypes() throws Exception {
+        Sources.TYPEDEF.apply(Sources.FROM_CLASSPATH_TO_COMPILATIONUNIT.apply("io/sundr/builder/Traversal.java").getTypes().get(0));
+        CompilationUnit cu = Sources.FROM_CLASSPATH_TO_COMPILATIONUNIT.apply("io/sundr/builder/Traversal.java");
+        TypeDef typeDef = Sources.TYPEDEF.apply(cu.getTypes().get(0));
+
+        for (Method method : typeDef.getMethods()) {
+            if (method.getName().equals("pop")) {
+                Assert.assertEquals("List<Iterator<Visitable>>", method.getArguments().get(1).getTypeRef().toString());
+                return;
+            }
+        }
+        Assert.fail("Method pop not found.");
+    }
+
+    static Property findProperty(TypeDef typeDef, String name) {
+        for (Property property : typeDef.getProperties()) {
+            if (property.getName().equals(name)) {
+                return property;
+            }
+        }
+        throw new IllegalStateException("Property:" + name + " not found in:" + typeDef.getFullyQualifiedName());
+    }
 }
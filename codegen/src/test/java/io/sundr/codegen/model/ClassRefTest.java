@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.codegen.model;
+
+import com.sun.tools.javac.model.JavacElements;
+import com.sun.tools.javac.model.JavacTypes;
+import com.sun.tools.javac.util.Context;
+import io.sundr.codegen.CodegenContext;
+import io.sundr.codegen.DefinitionRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClassRefTest {
+
+    @Before
+    public void bindContext() {
+        Context context = new Context();
+        CodegenContext.create(JavacElements.instance(context), JavacTypes.instance(context));
+    }
+
+    @After
+    public void unbindContext() {
+        CodegenContext.bind(null);
+    }
+
+    @Test
+    public void testResolutionFollowsRepositoryChanges() {
+        TypeDef original = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.test")
+                .withName("Resolved")
+                .build();
+
+        ClassRef ref = original.toReference();
+        TypeDef resolved = ref.getDefinition();
+        assertSame(resolved, ref.getDefinition());
+
+        TypeDef replacement = new TypeDefBuilder(original).withKind(Kind.INTERFACE).build();
+        DefinitionRepository.getRepository().register(replacement);
+        assertTrue(ref.getDefinition().isInterface());
+        assertEquals("Resolved", ref.getName());
+    }
+
+    @Test
+    public void testUnknownNamesResolveOnceRegistered() {
+        ClassRef ref = new ClassRefBuilder().withFullyQualifiedName("io.sundr.test.Unknown").build();
+        assertNull(ref.getDefinition());
+        assertEquals("io.sundr.test.Unknown", ref.getName());
+        assertEquals("io.sundr.test.Unknown", ref.toString());
+
+        TypeDef registered = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.test")
+                .withName("Unknown")
+                .build();
+        DefinitionRepository.getRepository().registerIfAbsent(registered);
+        assertSame(registered, ref.getDefinition());
+        assertEquals("Unknown", ref.getName());
+    }
+}
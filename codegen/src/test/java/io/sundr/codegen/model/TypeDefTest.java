@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.model;
+
+import com.sun.tools.javac.model.JavacElements;
+import com.sun.tools.javac.model.JavacTypes;
+import com.sun.tools.javac.util.Context;
+import io.sundr.codegen.CodegenContext;
+import io.sundr.codegen.DefinitionRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TypeDefTest {
+
+    @Before
+    public void bindContext() {
+        Context context = new Context();
+        CodegenContext.create(JavacElements.instance(context), JavacTypes.instance(context));
+    }
+
+    @After
+    public void unbindContext() {
+        CodegenContext.bind(null);
+    }
+
+    @Test
+    public void testReferencesAndImportsAreComputedOnce() {
+        TypeDef dependency = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.other")
+                .withName("Dependency")
+                .build();
+
+        Property property = new PropertyBuilder()
+                .withName("dependency")
+                .withTypeRef(dependency.toReference())
+                .build();
+
+        TypeDef type = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.test")
+                .withName("Dependent")
+                .withProperties(property)
+                .build();
+
+        assertSame(property.getReferences(), property.getReferences());
+        assertSame(type.getReferences(), type.getReferences());
+
+        Set<String> imports = type.getImports();
+        assertSame(imports, type.getImports());
+        assertEquals(1, imports.size());
+        assertTrue(imports.contains("io.sundr.other.Dependency"));
+
+        DefinitionRepository.getRepository().register(dependency);
+        assertNotSame(imports, type.getImports());
+        assertEquals(imports, type.getImports());
+    }
+}
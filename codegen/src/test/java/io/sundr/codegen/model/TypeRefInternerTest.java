@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package io.sundr.codegen.model;
+
+import com.sun.tools.javac.model.JavacElements;
+import com.sun.tools.javac.model.JavacTypes;
+import com.sun.tools.javac.util.Context;
+import io.sundr.codegen.CodegenContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TypeRefInternerTest {
+
+    @Before
+    public void bindContext() {
+        newCompilation();
+    }
+
+    @After
+    public void unbindContext() {
+        CodegenContext.bind(null);
+    }
+
+    @Test
+    public void testStructurallyIdenticalRefsAreShared() {
+        TypeDef list = new TypeDefBuilder()
+                .withKind(Kind.INTERFACE)
+                .withPackageName("io.sundr.test")
+                .withName("Interned")
+                .withParameters(new TypeParamDefBuilder().withName("T").build())
+                .build();
+
+        ClassRef first = list.toInternalReference();
+        ClassRef second = list.toInternalReference();
+        assertSame(first, second);
+        assertSame(first.getArguments().get(0), second.getArguments().get(0));
+        assertSame(first.withDimensions(1), second.withDimensions(1));
+        assertSame(new PrimitiveRefBuilder().withName("int").build().withDimensions(2),
+                new PrimitiveRefBuilder().withName("int").build().withDimensions(2));
+    }
+
+    @Test
+    public void testDistinctDefinitionsAreNotShared() {
+        TypeDef original = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.test")
+                .withName("Distinct")
+                .build();
+        TypeDef copy = new TypeDefBuilder(original).withKind(Kind.INTERFACE).build();
+
+        ClassRef first = original.toReference();
+        ClassRef second = copy.toReference();
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void testRefsCreatedByBuildersAreShared() {
+        TypeDef definition = new TypeDefBuilder()
+                .withKind(Kind.CLASS)
+                .withPackageName("io.sundr.test")
+                .withName("Built")
+                .build();
+
+        ClassRef first = new ClassRefBuilder().withDefinition(definition).build();
+        ClassRef second = new ClassRefBuilder().withDefinition(definition).build();
+        assertSame(first, second);
+        assertSame(new TypeParamRefBuilder().withName("T").build(), new TypeParamRefBuilder().withName("T").build());
+        assertSame(new WildcardRefBuilder().withBounds(first).build(), new WildcardRefBuilder().withBounds(second).build());
+    }
+
+    @Test
+    public void testRefsAreNotSharedAcrossCompilations() {
+        ClassRef first = new ClassRefBuilder().withFullyQualifiedName("io.sundr.test.Compiled").build();
+        newCompilation();
+        ClassRef second = new ClassRefBuilder().withFullyQualifiedName("io.sundr.test.Compiled").build();
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(1, CodegenContext.getContext().getInterner().size());
+    }
+
+    @Test
+    public void testRefsAreNotInternedWithoutContext() {
+        CodegenContext.bind(null);
+        ClassRef first = new ClassRefBuilder().withFullyQualifiedName("io.sundr.test.Detached").build();
+        ClassRef second = new ClassRefBuilder().withFullyQualifiedName("io.sundr.test.Detached").build();
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    private static void newCompilation() {
+        Context context = new Context();
+        CodegenContext.create(JavacElements.instance(context), JavacTypes.instance(context));
+    }
+}
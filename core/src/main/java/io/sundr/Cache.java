@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr;
+
+/**
+ * A cache of computed values, as used by {@link FunctionFactory}.
+ * Implementations are safe to use from multiple threads and may drop entries at any time.
+ * @param <K>   The type of the keys.
+ * @param <V>   The type of the values.
+ */
+public interface Cache<K, V> {
+
+    V get(K key);
+
+    void put(K key, V value);
+
+    void remove(K key);
+
+    void clear();
+
+    int size();
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes how the caches of {@link FunctionFactory} hold their values.
+ * The default policy is unbounded with strong values, unless configured with the system properties
+ * {@value #MAXIMUM_SIZE_PROPERTY} and {@value #SOFT_VALUES_PROPERTY}.
+ * All caches are registered in {@link CacheScope}, which keeps the values of each compilation apart.
+ */
+public final class CachePolicy {
+
+    public static final String MAXIMUM_SIZE_PROPERTY = "sundrio.cache.maximumSize";
+    public static final String SOFT_VALUES_PROPERTY = "sundrio.cache.softValues";
+
+    public static final CachePolicy UNBOUNDED = new CachePolicy(0, false);
+    public static final CachePolicy DEFAULT = new CachePolicy(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, 0), Boolean.getBoolean(SOFT_VALUES_PROPERTY));
+
+    private final int maximumSize;
+    private final boolean softValues;
+
+    private CachePolicy(int maximumSize, boolean softValues) {
+        this.maximumSize = maximumSize;
+        this.softValues = softValues;
+    }
+
+    /**
+     * @param maximumSize   The maximum number of entries, after which the least recently used entries are evicted. Zero means unbounded.
+     * @return              A policy like this one, with the specified maximum size.
+     */
+    public CachePolicy withMaximumSize(int maximumSize) {
+        return new CachePolicy(maximumSize, softValues);
+    }
+
+    /**
+     * @return  A policy like this one, that only holds soft references to the values, so they can be reclaimed under memory pressure.
+     */
+    public CachePolicy withSoftValues() {
+        return new CachePolicy(maximumSize, true);
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public boolean isSoftValues() {
+        return softValues;
+    }
+
+    /**
+     * Creates a new cache that follows this policy and registers it to {@link CacheScope}.
+     * The cache keeps the values of each compilation apart, see {@link CacheScope}.
+     * @param <K>   The type of the keys.
+     * @param <V>   The type of the values.
+     * @return      The cache.
+     */
+    public <K, V> Cache<K, V> create() {
+        return CacheScope.create(this);
+    }
+
+    /**
+     * Creates the storage of the values of a single compilation.
+     */
+    <K, V> Cache<K, V> createStore() {
+        return softValues ? new SoftValueCache<K, V>(this.<K, SoftValue<K, V>>createStrong()) : this.<K, V>createStrong();
+    }
+
+    private <K, V> Cache<K, V> createStrong() {
+        return maximumSize > 0 ? new LruCache<K, V>(maximumSize) : new ConcurrentCache<K, V>();
+    }
+
+    private static class ConcurrentCache<K, V> implements Cache<K, V> {
+        private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<K, V>();
+
+        public V get(K key) {
+            return map.get(key);
+        }
+
+        public void put(K key, V value) {
+            map.put(key, value);
+        }
+
+        public void remove(K key) {
+            map.remove(key);
+        }
+
+        public void clear() {
+            map.clear();
+        }
+
+        public int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * A cache that evicts its least recently used entry, when it grows past its maximum size.
+     * Access order has to be updated on every read, so each cache has its own lock.
+     */
+    private static class LruCache<K, V> implements Cache<K, V> {
+        private final Map<K, V> map;
+
+        private LruCache(final int maximumSize) {
+            this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        public synchronized void put(K key, V value) {
+            map.put(key, value);
+        }
+
+        public synchronized void remove(K key) {
+            map.remove(key);
+        }
+
+        public synchronized void clear() {
+            map.clear();
+        }
+
+        public synchronized int size() {
+            return map.size();
+        }
+    }
+
+    private static class SoftValue<K, V> extends SoftReference<V> {
+        private final K key;
+
+        private SoftValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * A cache that holds its values through soft references, in a cache of the specified policy.
+     * Entries whose values have been reclaimed, are removed on the next write.
+     */
+    private static class SoftValueCache<K, V> implements Cache<K, V> {
+        private final Cache<K, SoftValue<K, V>> references;
+        private final ReferenceQueue<V> queue = new ReferenceQueue<V>();
+
+        private SoftValueCache(Cache<K, SoftValue<K, V>> references) {
+            this.references = references;
+        }
+
+        public V get(K key) {
+            SoftValue<K, V> reference = references.get(key);
+            return reference != null ? reference.get() : null;
+        }
+
+        public void put(K key, V value) {
+            purge();
+            references.put(key, new SoftValue<K, V>(key, value, queue));
+        }
+
+        public void remove(K key) {
+            references.remove(key);
+        }
+
+        public void clear() {
+            references.clear();
+            purge();
+        }
+
+        public int size() {
+            return references.size();
+        }
+
+        private void purge() {
+            SoftValue<K, V> reference;
+            while ((reference = (SoftValue<K, V>) queue.poll()) != null) {
+                if (references.get(reference.key) == reference) {
+                    references.remove(reference.key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package io.sundr;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Limits the lifetime of the values held in the caches of {@link FunctionFactory}.
+ * Annotation processors open a scope per compilation, which stays open across the processing rounds of the compilation.
+ * While a scope is bound to a thread, the caches hold the values of its compilation apart from those of any other
+ * compilation, and they are dropped as soon as the last scope of the compilation is closed. This way long lived
+ * compiler processes (e.g. build daemons, IDEs) don't keep the models of past compilations, even if compilations overlap.
+ * Values computed with no scope bound are kept until {@link #clearAll()}.
+ */
+public final class CacheScope implements Closeable {
+
+    /**
+     * The caches of every compilation with an open scope. Compilations that are no longer referenced are dropped.
+     */
+    private static final Map<Object, Values> OPEN = new WeakHashMap<Object, Values>();
+    private static final ThreadLocal<CacheScope> CURRENT = new ThreadLocal<CacheScope>();
+    private static final Set<ScopedCache> CACHES = Collections.newSetFromMap(new WeakHashMap<ScopedCache, Boolean>());
+
+    private final Object compilation;
+    private final Values values;
+    private boolean closed;
+
+    private CacheScope(Object compilation, Values values) {
+        this.compilation = compilation;
+        this.values = values;
+    }
+
+    /**
+     * Opens a new scope, that is not shared with any compilation, and binds it to the current thread.
+     * @return  The scope.
+     */
+    public static CacheScope open() {
+        return open(new Object());
+    }
+
+    /**
+     * Opens a new scope for the specified compilation and binds it to the current thread.
+     * All the scopes of a compilation share their values, e.g. when multiple processors take part in the compilation.
+     * @param compilation   The object that identifies the compilation (e.g. its {@link javax.lang.model.util.Elements}).
+     * @return              The scope.
+     */
+    public static CacheScope open(Object compilation) {
+        Values values;
+        synchronized (OPEN) {
+            values = OPEN.get(compilation);
+            if (values == null) {
+                values = new Values();
+                OPEN.put(compilation, values);
+            }
+            values.scopes++;
+        }
+        CacheScope scope = new CacheScope(compilation, values);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Binds the specified scope to the current thread, e.g. when a compilation hands work over to other threads.
+     * @param scope The scope or null to unbind the current one.
+     * @return      The scope that was previously bound to the current thread.
+     */
+    public static CacheScope bind(CacheScope scope) {
+        CacheScope previous = CURRENT.get();
+        if (scope != null) {
+            CURRENT.set(scope);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Closes the scope. The values of the compilation are dropped, if it has no other open scope.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean last;
+        synchronized (OPEN) {
+            last = --values.scopes == 0;
+            if (last) {
+                OPEN.remove(compilation);
+            }
+        }
+        if (last) {
+            values.drop();
+            CacheScope current = CURRENT.get();
+            if (current != null && current.values == values) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Clears the values of all registered caches, including the ones of open compilations.
+     */
+    public static void clearAll() {
+        List<ScopedCache> caches;
+        synchronized (CACHES) {
+            caches = new ArrayList<ScopedCache>(CACHES);
+        }
+        for (ScopedCache cache : caches) {
+            cache.unscoped.clear();
+        }
+        List<Values> open;
+        synchronized (OPEN) {
+            open = new ArrayList<Values>(OPEN.values());
+        }
+        for (Values values : open) {
+            values.clear();
+        }
+    }
+
+    /**
+     * Creates a cache that follows the specified policy and keeps the values of each compilation apart.
+     */
+    static <K, V> Cache<K, V> create(CachePolicy policy) {
+        ScopedCache<K, V> cache = new ScopedCache<K, V>(policy);
+        synchronized (CACHES) {
+            CACHES.add(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * The values of the caches for one compilation.
+     */
+    private static class Values {
+        private final ConcurrentMap<ScopedCache, Cache> caches = new ConcurrentHashMap<ScopedCache, Cache>();
+        private int scopes;
+        private volatile boolean dropped;
+
+        private <K, V> Cache<K, V> get(ScopedCache<K, V> cache) {
+            if (dropped) {
+                return null;
+            }
+            Cache<K, V> values = caches.get(cache);
+            if (values == null) {
+                Cache<K, V> created = cache.policy.createStore();
+                values = caches.putIfAbsent(cache, created);
+                if (values == null) {
+                    values = created;
+                }
+            }
+            return values;
+        }
+
+        private void clear() {
+            for (Cache values : caches.values()) {
+                values.clear();
+            }
+        }
+
+        private void drop() {
+            dropped = true;
+            clear();
+            caches.clear();
+        }
+    }
+
+    /**
+     * A cache that holds its values in the compilation bound to the current thread, or on its own if there is none.
+     */
+    private static class ScopedCache<K, V> implements Cache<K, V> {
+        private final CachePolicy policy;
+        private final Cache<K, V> unscoped;
+
+        private ScopedCache(CachePolicy policy) {
+            this.policy = policy;
+            this.unscoped = policy.createStore();
+        }
+
+        private Cache<K, V> values() {
+            CacheScope scope = CURRENT.get();
+            Cache<K, V> values = scope != null ? scope.values.get(this) : null;
+            return values != null ? values : unscoped;
+        }
+
+        public V get(K key) {
+            return values().get(key);
+        }
+
+        public void put(K key, V value) {
+            values().put(key, value);
+        }
+
+        public void remove(K key) {
+            values().remove(key);
+        }
+
+        public void clear() {
+            values().clear();
+        }
+
+        public int size() {
+            return values().size();
+        }
+    }
+}
@@ -16,91 +16,231 @@
 
 package io.sundr;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
 
+/**
+ * Wraps a {@link Function} adding caching, recursion protection and fallbacks.
+ * Instances are safe to use from multiple threads: caches are concurrent and the recursion level and nesting depth
+ * are tracked per thread, so concurrent calls never wait for each other.
+ * A value may be computed more than once, when multiple threads ask for it at the same time.
+ * Caches follow {@link CachePolicy#DEFAULT}, unless a different policy is specified, and keep the values of each compilation
+ * apart for as long as the compilation has an open {@link CacheScope}.
+ * When {@link FunctionMetrics} are enabled, calls are recorded under the name of the function.
+ */
 public class FunctionFactory<X,Y> implements Function<X,Y> {
 
-    private final Map<X,Y> cache;
+    /**
+     * The number of wrapped function calls in progress on the current thread.
+     */
+    private static final ThreadLocal<int[]> NESTING_DEPTH = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private final String name;
+    private final Cache<X,Y> cache;
     private final Function<X,Y> function;
     private final Function<X,Y> fallback;
     private final Function<X, Boolean> fallbackPredicate;
     private final int maximumRecursionLevel;
     private final int maximumNestingDepth;
 
+    /**
+     * The number of calls in progress on the current thread per item.
+     */
+    private final ThreadLocal<Map<X, int[]>> recursionLevels;
 
-    private final Stack<X> ownStack;
-    private static final Stack globalStack = new Stack();
-
+    /**
+     * Creates a function that caches its values in the specified map.
+     * Recursion is tracked per thread, so the stack is no longer used.
+     */
     public FunctionFactory(Map<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Function<X, Boolean> fallbackPredicate, int maximumRecursionLevel, int maximumNestingDepth, Stack<X> ownStack) {
+        this(null, cache != null ? new MapCache<X, Y>(cache) : null, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, FunctionFactory.<X>newRecursionLevels());
+    }
+
+    private FunctionFactory(String name, Cache<X, Y> cache, Function<X, Y> function, Function<X, Y> fallback, Function<X, Boolean> fallbackPredicate, int maximumRecursionLevel, int maximumNestingDepth, ThreadLocal<Map<X, int[]>> recursionLevels) {
+        this.name = name != null ? name : function.getClass().getName();
         this.cache = cache;
         this.function = function;
         this.fallback = fallback;
         this.fallbackPredicate = fallbackPredicate;
         this.maximumRecursionLevel = maximumRecursionLevel;
         this.maximumNestingDepth = maximumNestingDepth;
-        this.ownStack = ownStack;
+        this.recursionLevels = recursionLevels;
     }
 
 
     public Y apply(X item) {
-        Y result;
-        synchronized (function) {
-            ownStack.push(item);
-            globalStack.push(item);
-            try {
-                result = cache != null ? cache.get(item) : null;
-                if (result == null) {
-                    int recursionLevel = ownStack != null ? Collections.frequency(ownStack, item) : 0;
-                    int nestingDepth = globalStack.size();
-                    boolean recursionLevelExceeded = recursionLevel > maximumRecursionLevel && maximumRecursionLevel > 0;
-                    boolean nestringDeptExceeded =nestingDepth > maximumNestingDepth && maximumNestingDepth > 0;
-                    boolean predicateMatched = fallbackPredicate != null && fallbackPredicate.apply(item);
-                    if ((recursionLevelExceeded || nestringDeptExceeded || predicateMatched) && fallback != null) {
-                        result = fallback.apply(item);
-                    }  else {
-                        result = function.apply(item);
-                        cacheIfEnabled(item, result);
-                    }
-                }
-            } finally {
-                ownStack.pop();
-                globalStack.pop();
+        if (!FunctionMetrics.isEnabled()) {
+            return apply(item, null);
+        }
+
+        FunctionMetrics metrics = FunctionMetrics.get(name);
+        long start = System.nanoTime();
+        try {
+            return apply(item, metrics);
+        } finally {
+            metrics.call(System.nanoTime() - start);
+        }
+    }
+
+    private Y apply(X item, FunctionMetrics metrics) {
+        Y result = cache != null && item != null ? cache.get(item) : null;
+        if (result != null) {
+            if (metrics != null) {
+                metrics.hit();
             }
             return result;
         }
+        if (metrics != null && cache != null) {
+            metrics.miss();
+        }
+
+        Map<X, int[]> levels = recursionLevels.get();
+        int[] recursionLevel = levels.get(item);
+        if (recursionLevel == null) {
+            recursionLevel = new int[1];
+            levels.put(item, recursionLevel);
+        }
+        int[] nestingDepth = NESTING_DEPTH.get();
+        recursionLevel[0]++;
+        nestingDepth[0]++;
+        try {
+            boolean recursionLevelExceeded = recursionLevel[0] > maximumRecursionLevel && maximumRecursionLevel > 0;
+            boolean nestringDeptExceeded = nestingDepth[0] > maximumNestingDepth && maximumNestingDepth > 0;
+            boolean predicateMatched = fallbackPredicate != null && fallbackPredicate.apply(item);
+            if (metrics != null && (recursionLevelExceeded || nestringDeptExceeded)) {
+                metrics.recursionLimitTrip();
+            }
+            if ((recursionLevelExceeded || nestringDeptExceeded || predicateMatched) && fallback != null) {
+                if (metrics != null) {
+                    metrics.fallback();
+                }
+                result = fallback.apply(item);
+            }  else {
+                result = function.apply(item);
+                cacheIfEnabled(item, result);
+            }
+        } finally {
+            nestingDepth[0]--;
+            if (--recursionLevel[0] == 0) {
+                levels.remove(item);
+            }
+        }
+        return result;
     }
 
     private void cacheIfEnabled(X item, Y result) {
-        if (cache != null) {
+        //Caches don't accept nulls, null results are recalculated anyway.
+        if (cache != null && item != null && result != null) {
             cache.put(item, result);
         }
     }
 
+    /**
+     * A cache backed by a map that is owned by the caller, so it is not registered in {@link CacheScope}.
+     */
+    private static class MapCache<K, V> implements Cache<K, V> {
+        private final Map<K, V> map;
+
+        private MapCache(Map<K, V> map) {
+            this.map = map;
+        }
+
+        public V get(K key) {
+            synchronized (map) {
+                return map.get(key);
+            }
+        }
+
+        public void put(K key, V value) {
+            synchronized (map) {
+                map.put(key, value);
+            }
+        }
+
+        public void remove(K key) {
+            synchronized (map) {
+                map.remove(key);
+            }
+        }
+
+        public void clear() {
+            synchronized (map) {
+                map.clear();
+            }
+        }
+
+        public int size() {
+            synchronized (map) {
+                return map.size();
+            }
+        }
+    }
+
+    private static <X> ThreadLocal<Map<X, int[]>> newRecursionLevels() {
+        return new ThreadLocal<Map<X, int[]>>() {
+            @Override
+            protected Map<X, int[]> initialValue() {
+                return new HashMap<X, int[]>();
+            }
+        };
+    }
 
     public static <X, Y> FunctionFactory<X, Y> cache(Function<X, Y> function) {
-        return new FunctionFactory<X, Y>(new HashMap<X, Y>(), function, null, null, 0, 0, new Stack<X>());
+        return cache(null, function);
+    }
+
+    /**
+     * Wraps the specified function with a cache.
+     * @param name      The name under which calls are recorded in {@link FunctionMetrics}.
+     * @param function  The function.
+     * @return          The wrapped function.
+     */
+    public static <X, Y> FunctionFactory<X, Y> cache(String name, Function<X, Y> function) {
+        return new FunctionFactory<X, Y>(name, CachePolicy.DEFAULT.<X, Y>create(), function, null, null, 0, 0, FunctionFactory.<X>newRecursionLevels());
     }
 
     public static <X, Y> FunctionFactory<X, Y> wrap(Function<X, Y> function) {
-        return new FunctionFactory<X, Y>(null, function, null, null, 0, 0, new Stack<X>());
+        return wrap(null, function);
+    }
+
+    /**
+     * Wraps the specified function without a cache.
+     * @param name      The name under which calls are recorded in {@link FunctionMetrics}.
+     * @param function  The function.
+     * @return          The wrapped function.
+     */
+    public static <X, Y> FunctionFactory<X, Y> wrap(String name, Function<X, Y> function) {
+        return new FunctionFactory<X, Y>(name, null, function, null, null, 0, 0, FunctionFactory.<X>newRecursionLevels());
+    }
+
+    /**
+     * Creates a copy of this function with a cache of the specified policy.
+     * @param policy    The cache policy.
+     * @return          The function with the new cache.
+     */
+    public FunctionFactory<X,Y> withCachePolicy(CachePolicy policy) {
+        return new FunctionFactory<X, Y>(name, policy.<X, Y>create(), function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 
     public FunctionFactory<X,Y> withFallback(Function<X,Y> fallback) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(name, cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 
     public FunctionFactory<X,Y> withMaximumRecursionLevel(int maximumRecursionLevel) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(name, cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 
     public FunctionFactory<X,Y> withMaximumNestingDepth(int maximumNestingDepth) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(name, cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 
     public FunctionFactory<X,Y> withFallbackPredicate(Function<X,Boolean> fallbackPredicate) {
-        return new FunctionFactory<X, Y>(cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, ownStack);
+        return new FunctionFactory<X, Y>(name, cache, function, fallback, fallbackPredicate, maximumRecursionLevel, maximumNestingDepth, recursionLevels);
     }
 }
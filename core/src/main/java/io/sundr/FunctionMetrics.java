@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls of each named {@link FunctionFactory} and the time spent in them.
+ * Recording is disabled by default and can be enabled with the system property {@value #ENABLED_PROPERTY}
+ * or with {@link #setEnabled(boolean)}. Wall time includes the time spent in nested calls of other functions.
+ */
+public final class FunctionMetrics {
+
+    public static final String ENABLED_PROPERTY = "sundrio.metrics";
+
+    private static final ConcurrentMap<String, FunctionMetrics> METRICS = new ConcurrentHashMap<String, FunctionMetrics>();
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder recursionLimitTrips = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private FunctionMetrics(String name) {
+        this.name = name;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        FunctionMetrics.enabled = enabled;
+    }
+
+    /**
+     * @param name  The name of the function.
+     * @return      The metrics of the function with the specified name.
+     */
+    public static FunctionMetrics get(String name) {
+        FunctionMetrics metrics = METRICS.get(name);
+        if (metrics == null) {
+            FunctionMetrics created = new FunctionMetrics(name);
+            metrics = METRICS.putIfAbsent(name, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return  The metrics of all functions that have been called, starting with those with the largest wall time.
+     */
+    public static List<FunctionMetrics> getAll() {
+        List<FunctionMetrics> result = new ArrayList<FunctionMetrics>();
+        for (FunctionMetrics metrics : METRICS.values()) {
+            if (metrics.getCalls() > 0) {
+                result.add(metrics);
+            }
+        }
+        Collections.sort(result, new Comparator<FunctionMetrics>() {
+            public int compare(FunctionMetrics left, FunctionMetrics right) {
+                long difference = right.getTotalNanos() - left.getTotalNanos();
+                return difference > 0 ? 1 : difference < 0 ? -1 : left.name.compareTo(right.name);
+            }
+        });
+        return result;
+    }
+
+    public static void reset() {
+        METRICS.clear();
+    }
+
+    /**
+     * Creates a report of all the recorded metrics and resets them.
+     * @return  The report or an empty string, if nothing has been recorded.
+     */
+    public static String reportAndReset() {
+        List<FunctionMetrics> all = getAll();
+        reset();
+        if (all.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-60s %10s %10s %10s %10s %10s %12s %12s%n", "Function", "Calls", "Hits", "Misses", "Fallbacks", "Trips", "Total (ms)", "Max (ms)"));
+        for (FunctionMetrics metrics : all) {
+            sb.append(String.format("%-60s %10d %10d %10d %10d %10d %12d %12d%n", metrics.getName(), metrics.getCalls(), metrics.getHits(),
+                    metrics.getMisses(), metrics.getFallbacks(), metrics.getRecursionLimitTrips(),
+                    TimeUnit.NANOSECONDS.toMillis(metrics.getTotalNanos()), TimeUnit.NANOSECONDS.toMillis(metrics.getMaxNanos())));
+        }
+        return sb.toString();
+    }
+
+    void call(long nanos) {
+        calls.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void fallback() {
+        fallbacks.increment();
+    }
+
+    void recursionLimitTrip() {
+        recursionLimitTrips.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public long getRecursionLimitTrips() {
+        return recursionLimitTrips.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+}
@@ -18,15 +18,30 @@ package io.sundr.builder;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F> {
 
     private static final String VISIT = "visit";
+    private static final int PARALLEL_THRESHOLD = 64;
 
-    public final List<Visitable> _visitables = new ArrayList<Visitable>();
+    /**
+     * Caches the outcome of the reflective visit method lookup per visitor class and fluent class.
+     */
+    private static final ClassValue<ConcurrentMap<Class, Boolean>> VISIT_METHOD_COMPATIBILITY = new ClassValue<ConcurrentMap<Class, Boolean>>() {
+        @Override
+        protected ConcurrentMap<Class, Boolean> computeValue(Class<?> visitorType) {
+            return new ConcurrentHashMap<Class, Boolean>();
+        }
+    };
+
+    public final List<Visitable> _visitables = new Visitables(this);
 
     public static <T> ArrayList<T> build(List<? extends Builder<? extends T>> list) {
         if (list == null) {
@@ -74,7 +89,7 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
     }
 
 
-    private static <V, F> Boolean canVisit(V visitor, F fluent) {
+    static <V, F> Boolean canVisit(V visitor, F fluent) {
         if (visitor instanceof TypedVisitor) {
             if (!((TypedVisitor) visitor).getType().isAssignableFrom(fluent.getClass())) {
                 return false;
@@ -95,6 +110,7 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
 
     /**
      * Checks if the specified visitor has a visit method compatible with the specified fluent.
+     * The outcome only depends on the visitor and fluent classes, so it is computed once per pair.
      * @param visitor
      * @param fluent
      * @param <V>
@@ -102,12 +118,23 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
      * @return
      */
     private static <V,F> Boolean hasCompatibleVisitMethod(V visitor, F fluent) {
-        for (Method method : visitor.getClass().getMethods()) {
+        Class fluentType = fluent.getClass();
+        ConcurrentMap<Class, Boolean> compatibility = VISIT_METHOD_COMPATIBILITY.get(visitor.getClass());
+        Boolean compatible = compatibility.get(fluentType);
+        if (compatible == null) {
+            compatible = findCompatibleVisitMethod(visitor.getClass(), fluentType);
+            compatibility.putIfAbsent(fluentType, compatible);
+        }
+        return compatible;
+    }
+
+    private static Boolean findCompatibleVisitMethod(Class visitorType, Class fluentType) {
+        for (Method method : visitorType.getMethods()) {
             if (!method.getName().equals(VISIT) || method.getParameterTypes().length != 1) {
                 continue;
             }
-            Class visitorType = method.getParameterTypes()[0];
-            if (visitorType.isAssignableFrom(fluent.getClass())) {
+            Class visitorParameterType = method.getParameterTypes()[0];
+            if (visitorParameterType.isAssignableFrom(fluentType)) {
                 return true;
             } else {
                 return false;
@@ -116,27 +143,218 @@ public class BaseFluent<F extends Fluent<F>> implements Fluent<F>, Visitable<F>
         return false;
     }
 
-    public F accept(Visitor visitor) {
-        if (visitor instanceof PathAwareTypedVisitor) {
-            return acceptPathAware((PathAwareTypedVisitor) visitor);
-        } else {
-            return acceptInternal(visitor);
+    /**
+     * Returns the instance that was last built from the specified fluent, if neither the fluent nor any of its
+     * visitables has been modified since.
+     * @param fluent    The fluent.
+     * @param type      The exact class of the instances the caller builds. Cached instances of other classes are ignored.
+     * @param <T>       The type of the built instance.
+     * @return          The cached instance or null.
+     */
+    protected static <T> T _cachedBuild(Object fluent, Class<T> type) {
+        if (!(fluent instanceof BaseFluent)) {
+            return null;
         }
+        Object built = ((BaseFluent) fluent)._getBuilt();
+        return built != null && built.getClass() == type ? (T) built : null;
+    }
+
+    /**
+     * Caches the instance built from the specified fluent, until the fluent or any of its visitables is modified.
+     * @param fluent    The fluent.
+     * @param built     The built instance.
+     * @param <T>       The type of the built instance.
+     * @return          The built instance.
+     */
+    protected static <T> T _cacheBuild(Object fluent, T built) {
+        if (fluent instanceof BaseFluent) {
+            ((BaseFluent) fluent)._setBuilt(built);
+        }
+        return built;
+    }
+
+    /**
+     * Marks this fluent and all the fluents that (transitively) hold it as modified, so that none of them reuses a cached instance.
+     */
+    protected void _markDirty() {
+        for (BaseFluent fluent = this; fluent != null; fluent = fluent._getParent()) {
+            fluent._setBuilt(null);
+        }
+    }
+
+    /**
+     * Defers copying the nested values of the specified instance to the specified fluent, until they are first needed.
+     * @param fluent    The fluent.
+     * @param instance  The instance the fluent is created from.
+     * @return          False, if the fluent does not support deferred copying and the values need to be copied right away.
+     */
+    protected static boolean _defer(Object fluent, Object instance) {
+        return fluent instanceof BaseFluent && ((BaseFluent) fluent)._setDeferred(instance);
     }
 
-    private F acceptInternal(Visitor visitor) {
-        for (Visitable visitable : _visitables) {
-            visitable.accept(visitor);
+    /**
+     * Copies any deferred nested values to the specified fluent.
+     * @param fluent    The fluent.
+     */
+    protected static void _materialize(Object fluent) {
+        if (fluent instanceof BaseFluent) {
+            ((BaseFluent) fluent)._materialize();
         }
+    }
+
+    /**
+     * Copies any deferred nested values to this fluent.
+     * Copying does not count as a modification, so a cached build of the fluent is kept.
+     * Generated fluents that defer copying override this method.
+     */
+    protected void _materialize() {
+    }
+
+    /**
+     * Copies the nested values that were deferred when the fluent was created from the specified instance.
+     * Generated fluents that defer copying override this method.
+     * @param instance  The instance the fluent was created from.
+     */
+    protected void _copyDeferred(Object instance) {
+    }
+
+    /**
+     * Only generated fluents that can be nested in a buildable whose builds are cached keep their parent, so that their
+     * modifications discard the cached builds. Other fluents have no field for it.
+     * @return  The fluent that holds this fluent among its visitables, or null if it is not tracked.
+     */
+    protected BaseFluent _getParent() {
+        return null;
+    }
+
+    /**
+     * @param parent    The fluent that holds this fluent among its visitables or null.
+     */
+    protected void _setParent(BaseFluent parent) {
+    }
+
+    /**
+     * Only generated fluents of buildables whose builds are cached keep the built instance.
+     * @return  The instance that was last built from this fluent and is still valid, or null.
+     */
+    protected Object _getBuilt() {
+        return null;
+    }
+
+    /**
+     * @param built     The instance built from this fluent, or null to discard the cached instance.
+     */
+    protected void _setBuilt(Object built) {
+    }
+
+    /**
+     * @param instance  The instance whose nested values are copied when first needed.
+     * @return          False, if this fluent does not support deferred copying.
+     */
+    protected boolean _setDeferred(Object instance) {
+        return false;
+    }
 
-        if (canVisit(visitor, this)) {
-            visitor.visit(this);
+    /**
+     * Adds a builder of a list property to the visitables, right before the builder that follows it in the list.
+     * @param next      The builder that follows in the list, or null if the builder is the last one.
+     * @param builder   The builder.
+     * @param source    The instance the builder was created from.
+     */
+    protected void _addVisitable(Visitable next, Visitable builder, Object source) {
+        ((Visitables) _visitables).addBefore(next, builder, source);
+    }
+
+    /**
+     * Puts a builder of a list property at the position of the builder it replaces in the list.
+     * @param replaced  The replaced builder.
+     * @param builder   The builder.
+     * @param source    The instance the builder was created from.
+     */
+    protected void _replaceVisitable(Visitable replaced, Visitable builder, Object source) {
+        ((Visitables) _visitables).replace(replaced, builder, source);
+    }
+
+    /**
+     * Removes the first builder that is equal to the specified one from the list and the visitables.
+     * The builder created from the same instance is tried first, so the list is only compared element by element, if the
+     * instance was not added to this fluent or its builder has been modified since.
+     * @param list      The list of builders.
+     * @param source    The instance to remove.
+     * @param builder   A builder created from the instance.
+     */
+    protected void _removeVisitable(List<?> list, Object source, Visitable builder) {
+        if (list == null) {
+            return;
         }
+        Visitable existing = ((Visitables) _visitables).getBySource(source);
+        if (existing != null && builder.equals(existing)) {
+            for (Iterator<?> each = list.iterator(); each.hasNext();) {
+                if (each.next() == existing) {
+                    each.remove();
+                    _visitables.remove(existing);
+                    return;
+                }
+            }
+        }
+        for (Iterator<?> each = list.iterator(); each.hasNext();) {
+            Object candidate = each.next();
+            if (builder.equals(candidate)) {
+                each.remove();
+                _visitables.remove(candidate);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the builder types that may be found among the visitables of this fluent and their descendants.
+     * Generated fluents return a set computed by the annotation processor, which only depends on the class of the fluent.
+     * @return  The reachable builder types, or null if they are not known.
+     */
+    protected Set<Class> _reachableTypes() {
+        return null;
+    }
+
+    public F accept(Visitor visitor) {
+        Traversal.accept(this, visitor);
         return (F) this;
     }
 
+    /**
+     * Visits the tree once, passing each element to all the specified visitors in order.
+     * @param visitors  The visitors.
+     * @return          This fluent.
+     */
+    public F accept(Visitor... visitors) {
+        Traversal.accept(this, visitors);
+        return (F) this;
+    }
 
-    private F acceptPathAware(PathAwareTypedVisitor pathAwareTypedVisitor) {
-        return acceptInternal(pathAwareTypedVisitor.next(this));
+    /**
+     * Visits the tree using the specified pool, forking at fluents with at least 64 visitables.
+     * @param visitor   The visitor.
+     * @param pool      The pool that will run the traversal.
+     * @return          This fluent.
+     */
+    public F acceptParallel(Visitor visitor, ForkJoinPool pool) {
+        return acceptParallel(visitor, pool, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Visits the tree using the specified pool.
+     * Visitors that do not implement {@link ConcurrentVisitor}, as well as path aware visitors (which track their path
+     * in a single stack), fall back to a sequential traversal.
+     * @param visitor   The visitor.
+     * @param pool      The pool that will run the traversal.
+     * @param threshold The minimum number of visitables a fluent needs, for its children to be visited in parallel.
+     * @return          This fluent.
+     */
+    public F acceptParallel(Visitor visitor, ForkJoinPool pool, int threshold) {
+        if (!(visitor instanceof ConcurrentVisitor) || visitor instanceof PathAwareTypedVisitor) {
+            return accept(visitor);
+        }
+        pool.invoke(new ParallelTraversal(this, visitor, threshold));
+        return (F) this;
     }
 }
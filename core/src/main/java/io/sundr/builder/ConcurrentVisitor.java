@@ -0,0 +1,25 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+/**
+ * A {@link Visitor} that may be invoked by multiple threads at once.
+ * Only visitors implementing this interface are dispatched in parallel by {@link BaseFluent#acceptParallel(Visitor, java.util.concurrent.ForkJoinPool)}.
+ * @param <T>   The type of the visited elements.
+ */
+public interface ConcurrentVisitor<T> extends Visitor<T> {
+}
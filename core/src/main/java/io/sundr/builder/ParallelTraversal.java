@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Visits a tree of {@link BaseFluent} instances in parallel.
+ * The children of a fluent that has at least as many visitables as the threshold are visited in separate tasks,
+ * while smaller subtrees are walked sequentially using {@link Traversal}.
+ * Within each subtree, elements are still visited in post-order: a fluent is only visited after all of its children.
+ */
+public class ParallelTraversal extends RecursiveAction {
+
+    private final BaseFluent fluent;
+    private final Visitor visitor;
+    private final int threshold;
+
+    public ParallelTraversal(BaseFluent fluent, Visitor visitor, int threshold) {
+        this.fluent = fluent;
+        this.visitor = visitor;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        if (!Traversal.mayReach(fluent, visitor)) {
+            Traversal.accept(fluent, visitor);
+            return;
+        }
+
+        fluent._materialize();
+        List<Visitable> visitables = fluent._visitables;
+        if (visitables.size() < threshold) {
+            Traversal.accept(fluent, visitor);
+            return;
+        }
+
+        List<ParallelTraversal> tasks = new ArrayList<ParallelTraversal>();
+        for (Visitable visitable : visitables) {
+            if (visitable instanceof BaseFluent) {
+                tasks.add(new ParallelTraversal((BaseFluent) visitable, visitor, threshold));
+            } else {
+                visitable.accept(visitor);
+            }
+        }
+        invokeAll(tasks);
+
+        if (BaseFluent.canVisit(visitor, fluent)) {
+            visitor.visit(fluent);
+        }
+    }
+}
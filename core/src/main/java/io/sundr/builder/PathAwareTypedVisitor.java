@@ -21,6 +21,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * A {@link TypedVisitor} that keeps track of the path from the root of the visited tree to the visited element.
+ * The path is tracked in a stack that is shared across the whole walk: descending one level pushes the element
+ * and ascending pops it, so no path copies or intermediate visitors are created per node.
+ * @param <V>   The type of the visited elements.
+ * @param <P>   The type of the parent of the visited elements.
+ */
 public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
 
     private List<Object> path;
@@ -34,7 +41,7 @@ public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
     }
 
     public PathAwareTypedVisitor(List<Object> path) {
-        this.path = path;
+        this.path = new ArrayList<Object>(path);
         this.delegate = this;
         this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, getClass()).get(1);
     }
@@ -45,17 +52,42 @@ public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
         this.parentType = (Class<P>) getTypeArguments(PathAwareTypedVisitor.class, delegate.getClass()).get(1);
     }
 
-
+    /**
+     * Creates a visitor for the next level, backed by a copy of the current path.
+     * Walks started with {@link BaseFluent#accept(Visitor)} use {@link #enter(Object)} and {@link #leave()} instead.
+     * @param item  The item to append to the path.
+     * @return      A new visitor that delegates to this one.
+     */
     public  PathAwareTypedVisitor<V, P> next(Object item) {
         List<Object> path = new ArrayList<Object>(this.path);
         path.add(item);
         return new PathAwareTypedVisitor<V, P>(path, this);
     }
 
+    /**
+     * Pushes the specified item to the path.
+     * @param item  The item that is about to be visited.
+     */
+    void enter(Object item) {
+        path.add(item);
+    }
+
+    /**
+     * Pops the last item from the path.
+     */
+    void leave() {
+        path.remove(path.size() - 1);
+    }
+
     @Override
     public void visit(V element) {
+        List<Object> previous = delegate.path;
         delegate.path = path;
-        delegate.visit(element);
+        try {
+            delegate.visit(element);
+        } finally {
+            delegate.path = previous;
+        }
     }
 
     public P getParent() {
@@ -68,8 +100,12 @@ public class PathAwareTypedVisitor<V,P> extends TypedVisitor<V> {
         }
     }
 
+    /**
+     * Returns a snapshot of the current path, which remains valid after the walk moves on.
+     * @return  An unmodifiable copy of the path.
+     */
     public List<Object> getPath() {
-        return Collections.unmodifiableList(path);
+        return Collections.unmodifiableList(new ArrayList<Object>(path));
     }
 
     @Override
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Walks a tree of {@link BaseFluent} instances using an explicit stack instead of recursion.
+ * Elements are visited in post-order (children before their parent), the same way {@link BaseFluent#accept(Visitor)}
+ * always did, but the depth of the tree is no longer limited by the size of the thread stack.
+ * The visitables of a fluent are skipped, when none of the types reachable from the fluent can match the type of a {@link TypedVisitor}.
+ */
+public final class Traversal {
+
+    /**
+     * Caches per fluent class and visited type, whether the visited type may be found under the fluent.
+     */
+    private static final ClassValue<ConcurrentMap<Class, Boolean>> REACHABILITY = new ClassValue<ConcurrentMap<Class, Boolean>>() {
+        @Override
+        protected ConcurrentMap<Class, Boolean> computeValue(Class<?> fluentType) {
+            return new ConcurrentHashMap<Class, Boolean>();
+        }
+    };
+
+    private Traversal() {
+        //Utility class
+    }
+
+    /**
+     * Visits the specified fluent and all of its descendants.
+     * Visitables that are not instances of {@link BaseFluent} are visited using their own accept method.
+     * @param root      The fluent to start from.
+     * @param visitor   The visitor.
+     */
+    public static void accept(BaseFluent root, Visitor visitor) {
+        accept(root, new Visitor[]{visitor});
+    }
+
+    /**
+     * Visits the specified fluent and all of its descendants with all the specified visitors, in a single walk.
+     * Each element is passed to the visitors in the order they are specified, so every visitor sees the elements in the
+     * same order it would, if it was used on its own. The walk is shared, so visitors that modify the visitables of an
+     * element, affect what the visitors that follow them will see.
+     * @param root      The fluent to start from.
+     * @param visitors  The visitors.
+     */
+    public static void accept(BaseFluent root, Visitor... visitors) {
+        List<PathAwareTypedVisitor> pathAwareTypedVisitors = new ArrayList<PathAwareTypedVisitor>();
+        for (Visitor visitor : visitors) {
+            if (visitor instanceof PathAwareTypedVisitor) {
+                pathAwareTypedVisitors.add((PathAwareTypedVisitor) visitor);
+            }
+        }
+        List<BaseFluent> fluents = new ArrayList<BaseFluent>();
+        List<Iterator<Visitable>> children = new ArrayList<Iterator<Visitable>>();
+
+        push(root, fluents, children, visitors, pathAwareTypedVisitors);
+        try {
+            while (!fluents.isEmpty()) {
+                int top = fluents.size() - 1;
+                Iterator<Visitable> iterator = children.get(top);
+                if (iterator.hasNext()) {
+                    Visitable visitable = iterator.next();
+                    if (visitable instanceof BaseFluent) {
+                        push((BaseFluent) visitable, fluents, children, visitors, pathAwareTypedVisitors);
+                    } else {
+                        for (Visitor visitor : visitors) {
+                            visitable.accept(visitor);
+                        }
+                    }
+                } else {
+                    BaseFluent fluent = fluents.get(top);
+                    for (Visitor visitor : visitors) {
+                        if (BaseFluent.canVisit(visitor, fluent)) {
+                            visitor.visit(fluent);
+                        }
+                    }
+                    pop(fluents, children, pathAwareTypedVisitors);
+                }
+            }
+        } finally {
+            while (!fluents.isEmpty()) {
+                pop(fluents, children, pathAwareTypedVisitors);
+            }
+        }
+    }
+
+    /**
+     * Checks if the visitables of the specified fluent may contain elements that the specified visitor can visit.
+     * @param fluent    The fluent.
+     * @param visitor   The visitor.
+     * @return          False, if the subtree under the fluent can be safely skipped.
+     */
+    static boolean mayReach(BaseFluent fluent, Visitor visitor) {
+        if (!(visitor instanceof TypedVisitor)) {
+            return true;
+        }
+        Class type = ((TypedVisitor) visitor).getType();
+        if (type == null) {
+            return true;
+        }
+
+        ConcurrentMap<Class, Boolean> reachability = REACHABILITY.get(fluent.getClass());
+        Boolean reachable = reachability.get(type);
+        if (reachable == null) {
+            reachable = mayReach(fluent._reachableTypes(), type);
+            reachability.putIfAbsent(type, reachable);
+        }
+        return reachable;
+    }
+
+    private static boolean mayReach(BaseFluent fluent, Visitor[] visitors) {
+        for (Visitor visitor : visitors) {
+            if (mayReach(fluent, visitor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mayReach(Set<Class> reachableTypes, Class type) {
+        if (reachableTypes == null) {
+            return true;
+        }
+        for (Class reachableType : reachableTypes) {
+            if (type.isAssignableFrom(reachableType) || reachableType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void push(BaseFluent fluent, List<BaseFluent> fluents, List<Iterator<Visitable>> children, Visitor[] visitors, List<PathAwareTypedVisitor> pathAwareTypedVisitors) {
+        for (PathAwareTypedVisitor pathAwareTypedVisitor : pathAwareTypedVisitors) {
+            pathAwareTypedVisitor.enter(fluent);
+        }
+        fluents.add(fluent);
+        if (mayReach(fluent, visitors)) {
+            fluent._materialize();
+            children.add(fluent._visitables.iterator());
+        } else {
+            children.add(Collections.<Visitable>emptyIterator());
+        }
+    }
+
+    private static void pop(List<BaseFluent> fluents, List<Iterator<Visitable>> children, List<PathAwareTypedVisitor> pathAwareTypedVisitors) {
+        int top = fluents.size() - 1;
+        fluents.remove(top);
+        children.remove(top);
+        for (PathAwareTypedVisitor pathAwareTypedVisitor : pathAwareTypedVisitors) {
+            pathAwareTypedVisitor.leave();
+        }
+    }
+}
@@ -23,12 +23,25 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public abstract class TypedVisitor<V> implements Visitor<V> {
 
+    /**
+     * The resolved type arguments per child class and base class.
+     */
+    private static final ClassValue<ConcurrentMap<Class, List<Class>>> TYPE_ARGUMENTS = new ClassValue<ConcurrentMap<Class, List<Class>>>() {
+        @Override
+        protected ConcurrentMap<Class, List<Class>> computeValue(Class<?> childClass) {
+            return new ConcurrentHashMap<Class, List<Class>>();
+        }
+    };
+
     public Class<V> getType() {
         return (Class<V>) getTypeArguments(TypedVisitor.class, getClass()).get(0);
     }
@@ -62,12 +75,19 @@ public abstract class TypedVisitor<V> implements Visitor<V> {
 
     /**
      * Get the actual type arguments a child class has used to extend a generic base class.
+     * The result is resolved once per pair of classes and then served from the cache.
      *
      * @param baseClass the base class
      * @param childClass the child class
      * @return a list of the raw classes for the actual type arguments.
      */
     static <T> List<Class> getTypeArguments(Class<T> baseClass, Class<? extends T> childClass) {
+        ConcurrentMap<Class, List<Class>> cached = TYPE_ARGUMENTS.get(childClass);
+        List<Class> cachedTypeArguments = cached.get(baseClass);
+        if (cachedTypeArguments != null) {
+            return cachedTypeArguments;
+        }
+
         Map<Type, Type> resolvedTypes = new LinkedHashMap<Type, Type>();
         Type type = childClass;
         // start walking up the inheritance hierarchy until we hit baseClass
@@ -109,6 +129,7 @@ public abstract class TypedVisitor<V> implements Visitor<V> {
             }
             typeArgumentsAsClasses.add(getClass(baseType));
         }
-        return typeArgumentsAsClasses;
+        cached.putIfAbsent(baseClass, Collections.unmodifiableList(typeArgumentsAsClasses));
+        return cached.get(baseClass);
     }
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The visitables of a {@link BaseFluent}.
+ * Elements are compared by identity and iterated in insertion order. Adding, removing and looking up an element
+ * takes constant time, as the elements are linked to each other using identity maps instead of being kept in an array.
+ * Positional access walks the elements, so it takes linear time: use {@link #addBefore(Visitable, Visitable, Object)} and
+ * {@link #replace(Visitable, Visitable, Object)} to place an element next to a known neighbour instead.
+ * <p>
+ * Null elements are not permitted. Unlike an {@link java.util.ArrayList}, each element is held at most once: adding an
+ * element that is already present returns false and leaves it where it is. Fluents always add builders they have just
+ * created, so they never add an element twice.
+ * <p>
+ * An element can be added together with the instance it was created from, so that it can later be found by that
+ * instance using {@link #getBySource(Object)}, without comparing it to the other elements.
+ * When the list has an owner, fluents that are added to it get the owner as their parent.
+ */
+public class Visitables extends AbstractList<Visitable> {
+
+    private final BaseFluent owner;
+
+    private Map<Visitable, Visitable> following;
+    private Map<Visitable, Visitable> preceding;
+    private Map<Object, Visitable> bySource;
+    private Map<Visitable, Object> sources;
+    private Visitable first;
+    private Visitable last;
+
+    public Visitables() {
+        this(null);
+    }
+
+    public Visitables(BaseFluent owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public boolean add(Visitable visitable) {
+        if (!prepare(visitable)) {
+            return false;
+        }
+        link(visitable, last, null);
+        return true;
+    }
+
+    /**
+     * Adds the visitable at the end and remembers the instance it was created from.
+     * @param visitable The visitable.
+     * @param source    The instance the visitable was created from.
+     * @return          false if the visitable is already present.
+     */
+    public boolean add(Visitable visitable, Object source) {
+        return addBefore(null, visitable, source);
+    }
+
+    /**
+     * Adds the visitable right before the specified one and remembers the instance it was created from.
+     * @param next      The visitable to add before. If it is null or not present, the visitable is added at the end.
+     * @param visitable The visitable.
+     * @param source    The instance the visitable was created from or null.
+     * @return          false if the visitable is already present.
+     */
+    public boolean addBefore(Visitable next, Visitable visitable, Object source) {
+        if (!prepare(visitable)) {
+            return false;
+        }
+        if (next != null && following.containsKey(next)) {
+            link(visitable, preceding.get(next), next);
+        } else {
+            link(visitable, last, null);
+        }
+        trace(visitable, source);
+        return true;
+    }
+
+    /**
+     * Puts the replacement at the position of the replaced visitable and remembers the instance it was created from.
+     * @param replaced      The visitable to replace. If it is null or not present, the replacement is added at the end.
+     * @param replacement   The replacement.
+     * @param source        The instance the replacement was created from or null.
+     */
+    public void replace(Visitable replaced, Visitable replacement, Object source) {
+        if (replaced == replacement) {
+            trace(replacement, source);
+            return;
+        }
+        if (contains(replacement)) {
+            unlink(replacement);
+        }
+        addBefore(replaced, replacement, source);
+        if (contains(replaced)) {
+            unlink(replaced);
+        }
+    }
+
+    /**
+     * @param source    An instance a visitable was created from.
+     * @return          The visitable that was last added for the instance and is still present, or null.
+     */
+    public Visitable getBySource(Object source) {
+        return bySource != null && source != null ? bySource.get(source) : null;
+    }
+
+    @Override
+    public void add(int index, Visitable visitable) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index == size()) {
+            add(visitable);
+        } else if (prepare(visitable)) {
+            Visitable next = get(index);
+            link(visitable, preceding.get(next), next);
+        }
+    }
+
+    @Override
+    public Visitable get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Visitable current = first;
+        for (int i = 0; i < index; i++) {
+            current = following.get(current);
+        }
+        return current;
+    }
+
+    @Override
+    public Visitable set(int index, Visitable visitable) {
+        Visitable replaced = get(index);
+        if (replaced != visitable) {
+            if (contains(visitable)) {
+                unlink(visitable);
+            }
+            prepare(visitable);
+            link(visitable, preceding.get(replaced), replaced);
+            unlink(replaced);
+        }
+        return replaced;
+    }
+
+    @Override
+    public Visitable remove(int index) {
+        Visitable removed = get(index);
+        unlink(removed);
+        return removed;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o)) {
+            return -1;
+        }
+        int index = 0;
+        for (Visitable current = first; current != o; current = following.get(current)) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        unlink((Visitable) o);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = false;
+        for (Object o : c) {
+            modified |= remove(o);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return following != null && o != null && following.containsKey(o);
+    }
+
+    @Override
+    public void clear() {
+        if (following != null) {
+            for (Visitable visitable : following.keySet()) {
+                orphan(visitable);
+            }
+        }
+        following = null;
+        preceding = null;
+        bySource = null;
+        sources = null;
+        first = null;
+        last = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return following == null ? 0 : following.size();
+    }
+
+    @Override
+    public Iterator<Visitable> iterator() {
+        return new Iterator<Visitable>() {
+            private Visitable cursor = first;
+            private Visitable lastReturned;
+            private int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return cursor != null;
+            }
+
+            public Visitable next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = cursor;
+                cursor = following.get(cursor);
+                return lastReturned;
+            }
+
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                unlink(lastReturned);
+                lastReturned = null;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Checks that the visitable can be added.
+     * @return  false if the visitable is already present.
+     */
+    private boolean prepare(Visitable visitable) {
+        if (visitable == null) {
+            throw new NullPointerException("Visitable can't be null.");
+        }
+        if (following == null) {
+            following = new IdentityHashMap<Visitable, Visitable>();
+            preceding = new IdentityHashMap<Visitable, Visitable>();
+            return true;
+        }
+        return !following.containsKey(visitable);
+    }
+
+    /**
+     * Links the visitable between the specified elements, either of which may be null.
+     */
+    private void link(Visitable visitable, Visitable previous, Visitable next) {
+        following.put(visitable, next);
+        preceding.put(visitable, previous);
+        if (previous == null) {
+            first = visitable;
+        } else {
+            following.put(previous, visitable);
+        }
+        if (next == null) {
+            last = visitable;
+        } else {
+            preceding.put(next, visitable);
+        }
+        if (owner != null && visitable instanceof BaseFluent) {
+            ((BaseFluent) visitable)._setParent(owner);
+        }
+        modCount++;
+    }
+
+    private void trace(Visitable visitable, Object source) {
+        if (source == null) {
+            return;
+        }
+        if (bySource == null) {
+            bySource = new IdentityHashMap<Object, Visitable>();
+            sources = new IdentityHashMap<Visitable, Object>();
+        }
+        untrace(visitable);
+        bySource.put(source, visitable);
+        sources.put(visitable, source);
+    }
+
+    private void untrace(Visitable visitable) {
+        Object source = sources != null ? sources.remove(visitable) : null;
+        if (source != null && bySource.get(source) == visitable) {
+            bySource.remove(source);
+        }
+    }
+
+    private void unlink(Visitable visitable) {
+        untrace(visitable);
+        Visitable previous = preceding.remove(visitable);
+        Visitable next = following.remove(visitable);
+        if (previous == null) {
+            first = next;
+        } else {
+            following.put(previous, next);
+        }
+        if (next == null) {
+            last = previous;
+        } else {
+            preceding.put(next, previous);
+        }
+        orphan(visitable);
+        modCount++;
+    }
+
+    private void orphan(Visitable visitable) {
+        if (owner != null && visitable instanceof BaseFluent && ((BaseFluent) visitable)._getParent() == owner) {
+            ((BaseFluent) visitable)._setParent(null);
+        }
+    }
+}
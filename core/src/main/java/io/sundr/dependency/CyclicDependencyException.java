@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dependency;
+
+import io.sundr.SundrException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CyclicDependencyException extends SundrException {
+
+    private final List<Object> cycle;
+
+    public CyclicDependencyException(List<?> cycle) {
+        super("Cyclic dependency detected: " + cycle);
+        this.cycle = Collections.unmodifiableList(new ArrayList<Object>(cycle));
+    }
+
+    /**
+     * @return  The items that form the cycle, where each item depends on the next and the last on the first.
+     */
+    public List<Object> getCycle() {
+        return cycle;
+    }
+}
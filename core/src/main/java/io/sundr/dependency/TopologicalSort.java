@@ -18,9 +18,26 @@ package io.sundr.dependency;
 
 import io.sundr.Function;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Sorts items so that every item comes after its dependencies.
+ * Sorting is iterative, so that long dependency chains can't overflow the stack.
+ * {@link #sort(Iterable)} sorts depth first and ignores cycles. {@link #sortInLevelOrder(Iterable)} and {@link #sortInLevels(Iterable)}
+ * use Kahn's algorithm. They allow an item that depends on itself and report any other cycle with a {@link CyclicDependencyException}.
+ * @param <T>   The type of the items.
+ */
 public class TopologicalSort<T> {
 
     private final Function<T, Set<T>> collectDependencies;
@@ -29,16 +46,168 @@ public class TopologicalSort<T> {
         this.collectDependencies = collectDependencies;
     }
 
+    /**
+     * Sorts the items and all their transitive dependencies depth first.
+     * Each item follows its dependencies in the order they are collected. When items depend on each other, the item that is reached first comes last.
+     * @param items The items.
+     * @return      The items in dependency order.
+     */
     public Set<T> sort(Iterable<T> items) {
         Set<T> sorted = new LinkedHashSet<T>();
         Set<T> visited = new LinkedHashSet<T>();
-        for (T e : items) {
-            visit(e, visited, sorted);
+        Deque<T> path = new ArrayDeque<T>();
+        Deque<Iterator<T>> remaining = new ArrayDeque<Iterator<T>>();
+        for (T item : items) {
+            if (!visited.add(item)) {
+                continue;
+            }
+            path.push(item);
+            remaining.push(collectDependencies.apply(item).iterator());
+            while (!path.isEmpty()) {
+                Iterator<T> dependencies = remaining.peek();
+                if (dependencies.hasNext()) {
+                    T dependency = dependencies.next();
+                    if (visited.add(dependency)) {
+                        path.push(dependency);
+                        remaining.push(collectDependencies.apply(dependency).iterator());
+                    }
+                } else {
+                    remaining.pop();
+                    sorted.add(path.pop());
+                }
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Sorts the items and all their transitive dependencies level by level, as returned by {@link #sortInLevels(Iterable)}.
+     * @param items The items.
+     * @return      The items in dependency order.
+     * @throws CyclicDependencyException if items depend on each other.
+     */
+    public Set<T> sortInLevelOrder(Iterable<T> items) {
+        Set<T> sorted = new LinkedHashSet<T>();
+        for (Set<T> level : sortInLevels(items)) {
+            sorted.addAll(level);
         }
         return sorted;
     }
 
+    /**
+     * Groups the items and all their transitive dependencies into levels.
+     * The first level contains the items without dependencies and every other level the items that only depend on items of the previous levels.
+     * So the items of a single level don't depend on each other and can be processed concurrently.
+     * Within each level items keep the order in which they were encountered.
+     * @param items The items.
+     * @return      The levels in dependency order.
+     */
+    public List<Set<T>> sortInLevels(Iterable<T> items) {
+        final Map<T, Integer> order = new HashMap<T, Integer>();
+        Map<T, Set<T>> dependencies = new LinkedHashMap<T, Set<T>>();
+        Map<T, List<T>> dependents = new HashMap<T, List<T>>();
+        Map<T, int[]> pending = new HashMap<T, int[]>();
+
+        Deque<T> discovered = new ArrayDeque<T>();
+        for (T item : items) {
+            discovered.add(item);
+        }
+        while (!discovered.isEmpty()) {
+            T item = discovered.poll();
+            if (dependencies.containsKey(item)) {
+                continue;
+            }
+            order.put(item, order.size());
+            Set<T> direct = new LinkedHashSet<T>(collectDependencies.apply(item));
+            direct.remove(item);
+            dependencies.put(item, direct);
+            pending.put(item, new int[]{direct.size()});
+            for (T dependency : direct) {
+                List<T> list = dependents.get(dependency);
+                if (list == null) {
+                    list = new ArrayList<T>();
+                    dependents.put(dependency, list);
+                }
+                list.add(item);
+                if (!dependencies.containsKey(dependency)) {
+                    discovered.add(dependency);
+                }
+            }
+        }
+
+        List<Set<T>> levels = new ArrayList<Set<T>>();
+        List<T> current = new ArrayList<T>();
+        for (Map.Entry<T, Set<T>> entry : dependencies.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                current.add(entry.getKey());
+            }
+        }
+
+        Comparator<T> byOrder = new Comparator<T>() {
+            public int compare(T left, T right) {
+                return order.get(left) - order.get(right);
+            }
+        };
+
+        int sortedCount = 0;
+        while (!current.isEmpty()) {
+            Collections.sort(current, byOrder);
+            levels.add(new LinkedHashSet<T>(current));
+            sortedCount += current.size();
+
+            List<T> next = new ArrayList<T>();
+            for (T item : current) {
+                List<T> list = dependents.get(item);
+                if (list == null) {
+                    continue;
+                }
+                for (T dependent : list) {
+                    if (--pending.get(dependent)[0] == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            current = next;
+        }
+
+        if (sortedCount < dependencies.size()) {
+            throw new CyclicDependencyException(findCycle(dependencies, pending));
+        }
+        return levels;
+    }
+
+    /**
+     * Finds a cycle among the items that couldn't be sorted.
+     * Each of these items has at least one dependency that couldn't be sorted either, so following them must eventually revisit an item.
+     */
+    private List<T> findCycle(Map<T, Set<T>> dependencies, Map<T, int[]> pending) {
+        T item = null;
+        for (T candidate : dependencies.keySet()) {
+            if (pending.get(candidate)[0] > 0) {
+                item = candidate;
+                break;
+            }
+        }
+
+        Map<T, Integer> positions = new HashMap<T, Integer>();
+        List<T> path = new ArrayList<T>();
+        while (!positions.containsKey(item)) {
+            positions.put(item, path.size());
+            path.add(item);
+            for (T dependency : dependencies.get(item)) {
+                if (pending.get(dependency)[0] > 0) {
+                    item = dependency;
+                    break;
+                }
+            }
+        }
+        return path.subList(positions.get(item), path.size());
+    }
 
+    /**
+     * @deprecated  Recursive, so long dependency chains may overflow the stack. Use {@link #sort(Iterable)} instead.
+     */
+    @Deprecated
     public void visit(T item, Set<T> visited, Set<T> sorted) {
         if (!visited.add(item)) {
             return;
@@ -48,7 +217,7 @@ public class TopologicalSort<T> {
         }
         sorted.add(item);
     }
-    
+
     public Set<T> collectDependencies(T item) {
         return collectDependencies.apply(item);
     }
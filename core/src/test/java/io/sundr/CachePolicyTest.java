@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CachePolicyTest {
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        Cache<String, String> cache = CachePolicy.UNBOUNDED.withMaximumSize(2).create();
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals("A", cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void testSoftValues() {
+        Cache<String, String> cache = CachePolicy.UNBOUNDED.withSoftValues().create();
+        cache.put("a", "A");
+        Assert.assertEquals("A", cache.get("a"));
+        cache.remove("a");
+        Assert.assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testEachCompilationHasItsOwnValues() {
+        Cache<String, String> cache = CachePolicy.UNBOUNDED.create();
+        CacheScope first = CacheScope.open(new Object());
+        cache.put("a", "first");
+
+        CacheScope second = CacheScope.open(new Object());
+        Assert.assertNull(cache.get("a"));
+        cache.put("a", "second");
+
+        CacheScope.bind(first);
+        Assert.assertEquals("first", cache.get("a"));
+        first.close();
+        second.close();
+        Assert.assertNull(CacheScope.bind(null));
+    }
+
+    @Test
+    public void testValuesAreDroppedWhenTheCompilationCloses() {
+        Cache<String, String> cache = CachePolicy.UNBOUNDED.create();
+        Object compilation = new Object();
+        CacheScope overlapping = CacheScope.open(new Object());
+        CacheScope processor = CacheScope.open(compilation);
+        cache.put("a", "A");
+
+        //An other processor of the same compilation finishes.
+        CacheScope.open(compilation).close();
+        Assert.assertEquals("A", cache.get("a"));
+
+        //The values are dropped, even though an other compilation is still open.
+        processor.close();
+        CacheScope.bind(processor);
+        Assert.assertNull(cache.get("a"));
+
+        CacheScope.bind(overlapping);
+        Assert.assertNull(cache.get("a"));
+        overlapping.close();
+        Assert.assertNull(CacheScope.bind(null));
+    }
+
+    @Test
+    public void testReplacedCachesAreStillCleared() {
+        final int[] calls = new int[1];
+        FunctionFactory<String, String> function = FunctionFactory.cache(new Function<String, String>() {
+            public String apply(String item) {
+                calls[0]++;
+                return item.toUpperCase();
+            }
+        });
+        function.apply("a");
+        function.withCachePolicy(CachePolicy.UNBOUNDED.withMaximumSize(1));
+
+        //The original function is still in use, so its cache is still cleared.
+        CacheScope.clearAll();
+        Assert.assertEquals("A", function.apply("a"));
+        Assert.assertEquals(2, calls[0]);
+    }
+}
@@ -19,6 +19,12 @@ package io.sundr;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Stack;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 public class FunctionFactoryTest
 {
 
@@ -43,4 +49,55 @@ public class FunctionFactoryTest
         result = TEST_FUNCTION.apply("");
         Assert.assertEquals(expectedResult, result);
     }
+
+    @Test
+    public void testConcurrentCallsDoNotBlockOrNestEachOther() throws InterruptedException {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<String, String> function = FunctionFactory.cache(new Function<String, String>() {
+            public String apply(String item) {
+                if (item.equals("blocking")) {
+                    entered.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return item;
+            }
+        }).withFallback(new Function<String, String>() {
+            public String apply(String item) {
+                return "fallback";
+            }
+        }).withMaximumNestingDepth(1);
+
+        Thread blocking = new Thread(new Runnable() {
+            public void run() {
+                function.apply("blocking");
+            }
+        });
+        blocking.start();
+        try {
+            Assert.assertTrue(entered.await(10, TimeUnit.SECONDS));
+            //The call in progress on the other thread, neither holds a lock nor counts towards the nesting depth of this thread.
+            Assert.assertEquals("other", function.apply("other"));
+        } finally {
+            release.countDown();
+            blocking.join();
+        }
+    }
+
+    @Test
+    public void testCachingInProvidedMap() {
+        Map<String, String> cache = new HashMap<String, String>();
+        Function<String, String> function = new FunctionFactory<String, String>(cache, new Function<String, String>() {
+            public String apply(String item) {
+                return item.toUpperCase();
+            }
+        }, null, null, 0, 0, new Stack<String>());
+
+        Assert.assertEquals("A", function.apply("a"));
+        Assert.assertEquals("A", cache.get("a"));
+    }
 }
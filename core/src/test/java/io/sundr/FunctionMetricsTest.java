@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FunctionMetricsTest {
+
+    @Before
+    public void setUp() {
+        FunctionMetrics.reset();
+        FunctionMetrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        FunctionMetrics.setEnabled(false);
+        FunctionMetrics.reset();
+    }
+
+    @Test
+    public void testCallsAreRecordedPerFunction() {
+        Function<String, String> function = FunctionFactory.cache("upper", new Function<String, String>() {
+            public String apply(String item) {
+                return item.toUpperCase();
+            }
+        });
+
+        function.apply("a");
+        function.apply("a");
+        function.apply("b");
+
+        FunctionMetrics metrics = FunctionMetrics.get("upper");
+        assertEquals(3, metrics.getCalls());
+        assertEquals(1, metrics.getHits());
+        assertEquals(2, metrics.getMisses());
+        assertEquals(0, metrics.getFallbacks());
+        assertTrue(metrics.getTotalNanos() >= metrics.getMaxNanos());
+    }
+
+    @Test
+    public void testRecursionLimitTripsAndFallbacksAreRecorded() {
+        final Function<Integer, Integer>[] self = new Function[1];
+        self[0] = FunctionFactory.wrap("countdown", new Function<Integer, Integer>() {
+            public Integer apply(Integer item) {
+                return self[0].apply(item);
+            }
+        }).withFallback(new Function<Integer, Integer>() {
+            public Integer apply(Integer item) {
+                return 0;
+            }
+        }).withMaximumRecursionLevel(2);
+
+        assertEquals(Integer.valueOf(0), self[0].apply(1));
+
+        FunctionMetrics metrics = FunctionMetrics.get("countdown");
+        assertEquals(3, metrics.getCalls());
+        assertEquals(1, metrics.getRecursionLimitTrips());
+        assertEquals(1, metrics.getFallbacks());
+    }
+
+    @Test
+    public void testReportResetsMetrics() {
+        FunctionFactory.wrap("identity", new Function<String, String>() {
+            public String apply(String item) {
+                return item;
+            }
+        }).apply("a");
+
+        assertTrue(FunctionMetrics.reportAndReset().contains("identity"));
+        assertEquals("", FunctionMetrics.reportAndReset());
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BuildCacheTest {
+
+    @Test
+    public void testUnmodifiedBuildIsReused() {
+        NodeBuilder root = new NodeBuilder("root").addToChildren(new NodeBuilder("a"));
+        Assert.assertSame(root.build(), root.build());
+    }
+
+    @Test
+    public void testModifiedChildInvalidatesAncestors() {
+        NodeBuilder a1 = new NodeBuilder("a1");
+        NodeBuilder a = new NodeBuilder("a").addToChildren(a1);
+        NodeBuilder b = new NodeBuilder("b");
+        NodeBuilder root = new NodeBuilder("root").addToChildren(a).addToChildren(b);
+
+        Node first = root.build();
+        a1.withName("changed");
+        Node second = root.build();
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("changed", second.children.get(0).children.get(0).name);
+        Assert.assertSame(first.children.get(1), second.children.get(1));
+    }
+
+    @Test
+    public void testRemovedChildNoLongerInvalidatesParent() {
+        NodeBuilder a = new NodeBuilder("a");
+        NodeBuilder root = new NodeBuilder("root").addToChildren(a);
+        root.removeFromChildren(a);
+
+        Node first = root.build();
+        a.withName("changed");
+        Assert.assertSame(first, root.build());
+    }
+
+    @Test
+    public void testCopyIsDeferredUntilNeeded() {
+        Node leaf = new Node("leaf", new ArrayList<Node>());
+        Node root = new Node("root", java.util.Arrays.asList(new Node("a", java.util.Arrays.asList(leaf))));
+
+        NodeBuilder builder = new NodeBuilder(root);
+        Assert.assertTrue(builder._visitables.isEmpty());
+
+        final List<String> visited = new ArrayList<String>();
+        builder.accept(new TypedVisitor<NodeBuilder>() {
+            @Override
+            public void visit(NodeBuilder element) {
+                visited.add(element.name);
+                if (element.name.equals("leaf")) {
+                    element.withName("changed");
+                }
+            }
+        });
+
+        Assert.assertEquals(java.util.Arrays.asList("leaf", "a", "root"), visited);
+        Node rebuilt = builder.build();
+        Assert.assertNotSame(root, rebuilt);
+        Assert.assertEquals("changed", rebuilt.children.get(0).children.get(0).name);
+        Assert.assertSame(rebuilt, builder.build());
+    }
+
+    @Test
+    public void testFluentsWithoutStateDoNotCache() {
+        PlainFluent fluent = new PlainFluent();
+        Object built = new Object();
+        Assert.assertSame(built, BaseFluent._cacheBuild(fluent, built));
+        Assert.assertNull(BaseFluent._cachedBuild(fluent, Object.class));
+        Assert.assertFalse(BaseFluent._defer(fluent, built));
+
+        NodeBuilder root = new NodeBuilder("root");
+        root._visitables.add(fluent);
+        Assert.assertNull(fluent._getParent());
+    }
+
+    static class PlainFluent extends BaseFluent<PlainFluent> {
+    }
+
+    static class Node {
+        final String name;
+        final List<Node> children;
+
+        Node(String name, List<Node> children) {
+            this.name = name;
+            this.children = children;
+        }
+    }
+
+    static class NodeBuilder extends BaseFluent<NodeBuilder> implements Builder<Node> {
+        private String name;
+        private final List<NodeBuilder> children = new ArrayList<NodeBuilder>();
+        private BaseFluent _parent;
+        private Object _built;
+        private Object _deferred;
+        private boolean _materializing;
+
+        NodeBuilder(String name) {
+            this.name = name;
+        }
+
+        NodeBuilder(Node instance) {
+            this.name = instance.name;
+            if (!_defer(this, instance)) {
+                _copyDeferred(instance);
+            }
+        }
+
+        @Override
+        protected BaseFluent _getParent() {
+            return _parent;
+        }
+
+        @Override
+        protected void _setParent(BaseFluent value) {
+            this._parent = value;
+        }
+
+        @Override
+        protected Object _getBuilt() {
+            return _built;
+        }
+
+        @Override
+        protected void _setBuilt(Object value) {
+            this._built = value;
+        }
+
+        @Override
+        protected boolean _setDeferred(Object instance) {
+            this._deferred = instance;
+            return true;
+        }
+
+        @Override
+        protected void _materialize() {
+            if (_deferred == null) {
+                return;
+            }
+            Object deferred = _deferred;
+            _deferred = null;
+            _materializing = true;
+            try {
+                _copyDeferred(deferred);
+            } finally {
+                _materializing = false;
+            }
+        }
+
+        @Override
+        protected void _markDirty() {
+            if (!_materializing) {
+                super._markDirty();
+            }
+        }
+
+        @Override
+        protected void _copyDeferred(Object deferred) {
+            for (Node child : ((Node) deferred).children) {
+                addToChildren(new NodeBuilder(child));
+            }
+        }
+
+        NodeBuilder withName(String name) {
+            _markDirty();
+            this.name = name;
+            return this;
+        }
+
+        NodeBuilder addToChildren(NodeBuilder child) {
+            _markDirty();
+            _visitables.add(child);
+            children.add(child);
+            return this;
+        }
+
+        NodeBuilder removeFromChildren(NodeBuilder child) {
+            _markDirty();
+            _visitables.remove(child);
+            children.remove(child);
+            return this;
+        }
+
+        public Node build() {
+            Node cached = _cachedBuild(this, Node.class);
+            if (cached != null) {
+                return cached;
+            }
+            _materialize();
+            return _cacheBuild(this, new Node(name, build(children)));
+        }
+    }
+}
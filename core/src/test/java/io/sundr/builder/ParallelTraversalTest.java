@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelTraversalTest {
+
+    @Test
+    public void testParallelVisitIsPostOrderWithinSubtrees() {
+        Node root = new Node();
+        for (int i = 0; i < 100; i++) {
+            Node child = new Node();
+            for (int j = 0; j < 100; j++) {
+                child.add(new Node());
+            }
+            root.add(child);
+        }
+
+        final Set<Node> visited = ConcurrentHashMap.newKeySet();
+        final AtomicInteger outOfOrder = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            root.acceptParallel(new ConcurrentNodeVisitor() {
+                @Override
+                public void visit(Node node) {
+                    for (Visitable child : node._visitables) {
+                        if (!visited.contains(child)) {
+                            outOfOrder.incrementAndGet();
+                        }
+                    }
+                    visited.add(node);
+                }
+            }, pool, 10);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals(1 + 100 + 100 * 100, visited.size());
+        Assert.assertEquals(0, outOfOrder.get());
+    }
+
+    @Test
+    public void testSequentialFallback() {
+        Node root = new Node();
+        for (int i = 0; i < 100; i++) {
+            root.add(new Node());
+        }
+
+        final List<Thread> threads = new ArrayList<Thread>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            root.acceptParallel(new Visitor<Node>() {
+                @Override
+                public void visit(Node node) {
+                    threads.add(Thread.currentThread());
+                }
+            }, pool, 10);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals(101, threads.size());
+        for (Thread thread : threads) {
+            Assert.assertEquals(Thread.currentThread(), thread);
+        }
+    }
+
+    abstract static class ConcurrentNodeVisitor implements ConcurrentVisitor<Node> {
+    }
+
+    static class Node extends BaseFluent<Node> {
+        Node add(Node child) {
+            _visitables.add(child);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PathAwareTypedVisitorTest {
+
+    @Test
+    public void testPathAndParentOfSiblings() {
+        Node root = new Node("root")
+                .add(new Node("a")
+                        .add(new Leaf("a1"))
+                        .add(new Leaf("a2")))
+                .add(new Leaf("b"));
+
+        final List<List<Object>> paths = new ArrayList<List<Object>>();
+        final List<Object> parents = new ArrayList<Object>();
+
+        root.accept(new PathAwareTypedVisitor<Leaf, Node>() {
+            @Override
+            public void visit(Leaf leaf) {
+                paths.add(getPath());
+                parents.add(getParent());
+            }
+        });
+
+        Assert.assertEquals(3, paths.size());
+        Assert.assertEquals(Arrays.asList("root", "a", "a1"), names(paths.get(0)));
+        Assert.assertEquals(Arrays.asList("root", "a", "a2"), names(paths.get(1)));
+        Assert.assertEquals(Arrays.asList("root", "b"), names(paths.get(2)));
+        Assert.assertEquals(Arrays.asList("a", "a", "root"), names(parents));
+    }
+
+    private static List<String> names(List<Object> nodes) {
+        List<String> result = new ArrayList<String>();
+        for (Object node : nodes) {
+            result.add(((Node) node).name);
+        }
+        return result;
+    }
+
+    static class Node extends BaseFluent<Node> {
+        final String name;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node add(Node child) {
+            _visitables.add(child);
+            return this;
+        }
+    }
+
+    static class Leaf extends Node {
+        Leaf(String name) {
+            super(name);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class TraversalTest {
+
+    @Test
+    public void testPostOrder() {
+        Node root = new Node("root")
+                .add(new Node("a")
+                        .add(new Node("a1"))
+                        .add(new Node("a2")))
+                .add(new Node("b"));
+
+        final List<String> visited = new ArrayList<String>();
+        root.accept(new Visitor<Node>() {
+            @Override
+            public void visit(Node node) {
+                visited.add(node.name);
+            }
+        });
+
+        Assert.assertEquals(Arrays.asList("a1", "a2", "a", "b", "root"), visited);
+    }
+
+    @Test
+    public void testDeepTree() {
+        Node root = new Node("0");
+        Node current = root;
+        for (int i = 1; i < 100000; i++) {
+            Node next = new Node(String.valueOf(i));
+            current.add(next);
+            current = next;
+        }
+
+        final int[] count = new int[1];
+        root.accept(new Visitor<Node>() {
+            @Override
+            public void visit(Node node) {
+                count[0]++;
+            }
+        });
+
+        Assert.assertEquals(100000, count[0]);
+    }
+
+    @Test
+    public void testUnreachableSubtreesAreSkipped() {
+        Node root = new Node("root")
+                .add(new Closed("closed")
+                        .add(new Leaf("hidden")))
+                .add(new Node("open")
+                        .add(new Leaf("leaf")));
+
+        final List<String> visited = new ArrayList<String>();
+        root.accept(new TypedVisitor<Leaf>() {
+            @Override
+            public void visit(Leaf leaf) {
+                visited.add(leaf.name);
+            }
+        });
+
+        Assert.assertEquals(Arrays.asList("leaf"), visited);
+    }
+
+    @Test
+    public void testMultipleVisitorsInSingleWalk() {
+        Node root = new Node("root")
+                .add(new Node("a")
+                        .add(new Leaf("a1")))
+                .add(new Leaf("b"));
+
+        final List<String> visited = new ArrayList<String>();
+        root.accept(new Visitor<Node>() {
+            @Override
+            public void visit(Node node) {
+                visited.add("node:" + node.name);
+            }
+        }, new TypedVisitor<Leaf>() {
+            @Override
+            public void visit(Leaf leaf) {
+                visited.add("leaf:" + leaf.name);
+            }
+        });
+
+        Assert.assertEquals(Arrays.asList("node:a1", "leaf:a1", "node:a", "node:b", "leaf:b", "node:root"), visited);
+    }
+
+    static class Node extends BaseFluent<Node> {
+        final String name;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        Node add(Node child) {
+            _visitables.add(child);
+            return this;
+        }
+    }
+
+    static class Leaf extends Node {
+        Leaf(String name) {
+            super(name);
+        }
+    }
+
+    /**
+     * A fluent that declares that no builder types can be found under it.
+     */
+    static class Closed extends Node {
+        Closed(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Set<Class> _reachableTypes() {
+            return Collections.<Class>emptySet();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TypedVisitorTest {
+
+    @Test
+    public void testTypeOfVisitorWithGenericSuperclass() {
+        Assert.assertEquals(String.class, new StringVisitor().getType());
+        Assert.assertEquals(Integer.class, new IntegerVisitor().getType());
+        //Both subclasses share the generic superclass, but are resolved separately.
+        Assert.assertEquals(String.class, new StringVisitor().getType());
+    }
+
+    @Test
+    public void testTypeArgumentsAreResolvedOncePerClass() {
+        List<Class> first = TypedVisitor.getTypeArguments(TypedVisitor.class, StringVisitor.class);
+        List<Class> second = TypedVisitor.getTypeArguments(TypedVisitor.class, StringVisitor.class);
+        Assert.assertSame(first, second);
+    }
+
+    @Test
+    public void testParentTypeOfPathAwareVisitorWithGenericSuperclass() {
+        LeafVisitor<Node> visitor = new LeafVisitor<Node>() {
+            @Override
+            public void visit(Leaf element) {
+            }
+        };
+        Assert.assertEquals(Leaf.class, visitor.getType());
+        Assert.assertEquals(Node.class, visitor.getParentType());
+    }
+
+    private static abstract class NamedVisitor<T> extends TypedVisitor<T> {
+    }
+
+    private static class StringVisitor extends NamedVisitor<String> {
+        @Override
+        public void visit(String element) {
+        }
+    }
+
+    private static class IntegerVisitor extends NamedVisitor<Integer> {
+        @Override
+        public void visit(Integer element) {
+        }
+    }
+
+    private static abstract class LeafVisitor<P> extends PathAwareTypedVisitor<Leaf, P> {
+    }
+
+    private static class Node {
+    }
+
+    private static class Leaf {
+    }
+}
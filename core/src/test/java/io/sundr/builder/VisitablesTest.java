@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.builder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class VisitablesTest {
+
+    @Test
+    public void testInsertionOrderAndIdentity() {
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Item c = new Item("c");
+        Item otherA = new Item("a");
+
+        Visitables visitables = new Visitables();
+        visitables.add(a);
+        visitables.add(b);
+        visitables.add(c);
+        visitables.add(otherA);
+        Assert.assertFalse(visitables.add(b));
+        Assert.assertEquals(4, visitables.size());
+
+        Assert.assertTrue(visitables.remove(b));
+        Assert.assertFalse(visitables.remove(new Item("c")));
+        Assert.assertTrue(visitables.removeAll(Arrays.asList(otherA)));
+        visitables.add(b);
+
+        Assert.assertEquals(Arrays.asList(a, c, b), toList(visitables));
+        Assert.assertSame(a, visitables.iterator().next());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Item c = new Item("c");
+        Visitables visitables = new Visitables();
+        visitables.addAll(Arrays.asList(a, b, c));
+
+        Iterator<Visitable> iterator = visitables.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() != b) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(Arrays.<Visitable>asList(b), toList(visitables));
+    }
+
+    @Test
+    public void testPositionalAccess() {
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Item c = new Item("c");
+        Item d = new Item("d");
+        List<Visitable> visitables = new Visitables();
+        visitables.add(a);
+        visitables.add(c);
+        visitables.add(1, b);
+        visitables.add(0, d);
+        Assert.assertEquals(Arrays.asList(d, a, b, c), toList(visitables));
+        Assert.assertSame(b, visitables.get(2));
+        Assert.assertEquals(2, visitables.indexOf(b));
+
+        Assert.assertSame(d, visitables.set(0, c));
+        Assert.assertEquals(Arrays.asList(c, a, b), toList(visitables));
+        Assert.assertSame(a, visitables.remove(1));
+        Assert.assertEquals(Arrays.asList(c, b), toList(visitables));
+    }
+
+    @Test
+    public void testDuplicatesAreIgnored() {
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Visitables visitables = new Visitables();
+        visitables.add(a);
+        visitables.add(b);
+
+        Assert.assertFalse(visitables.add(a));
+        visitables.add(0, b);
+        Assert.assertFalse(visitables.addBefore(a, b, null));
+        Assert.assertTrue(visitables.add(new Item("a")));
+        Assert.assertEquals(3, visitables.size());
+        Assert.assertSame(a, visitables.get(0));
+        Assert.assertSame(b, visitables.get(1));
+    }
+
+    @Test
+    public void testNeighbourInsertsAndReplace() {
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Item c = new Item("c");
+        Item d = new Item("d");
+        Visitables visitables = new Visitables();
+        visitables.add(a);
+        visitables.add(c);
+
+        Assert.assertTrue(visitables.addBefore(c, b, null));
+        Assert.assertTrue(visitables.addBefore(new Item("x"), d, null));
+        Assert.assertEquals(Arrays.asList(a, b, c, d), toList(visitables));
+
+        Item e = new Item("e");
+        visitables.replace(b, e, null);
+        Assert.assertEquals(Arrays.asList(a, e, c, d), toList(visitables));
+        visitables.replace(c, d, null);
+        Assert.assertEquals(Arrays.asList(a, e, d), toList(visitables));
+    }
+
+    @Test
+    public void testLookupBySource() {
+        Object first = new Object();
+        Object second = new Object();
+        Item a = new Item("a");
+        Item b = new Item("b");
+        Item c = new Item("c");
+        Visitables visitables = new Visitables();
+        visitables.add(a, first);
+        visitables.add(b, second);
+
+        Assert.assertSame(a, visitables.getBySource(first));
+        Assert.assertSame(b, visitables.getBySource(second));
+        Assert.assertNull(visitables.getBySource(new Object()));
+
+        visitables.replace(b, c, second);
+        Assert.assertSame(c, visitables.getBySource(second));
+        visitables.remove(a);
+        Assert.assertNull(visitables.getBySource(first));
+        visitables.clear();
+        Assert.assertNull(visitables.getBySource(second));
+    }
+
+    private static List<Visitable> toList(List<Visitable> visitables) {
+        return new ArrayList<Visitable>(visitables);
+    }
+
+    static class Item implements Visitable<Item> {
+        final String name;
+
+        Item(String name) {
+            this.name = name;
+        }
+
+        public Item accept(Visitor visitor) {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item && ((Item) o).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
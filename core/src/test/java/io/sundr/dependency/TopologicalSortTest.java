@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 The original authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package io.sundr.dependency;
+
+import io.sundr.Function;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TopologicalSortTest {
+
+    private static TopologicalSort<String> sortOf(final Map<String, Set<String>> graph) {
+        return new TopologicalSort<String>(new Function<String, Set<String>>() {
+            public Set<String> apply(String item) {
+                Set<String> dependencies = graph.get(item);
+                return dependencies != null ? dependencies : Collections.<String>emptySet();
+            }
+        });
+    }
+
+    private static Set<String> setOf(String... items) {
+        return new LinkedHashSet<String>(Arrays.asList(items));
+    }
+
+    @Test
+    public void testLevels() {
+        Map<String, Set<String>> graph = new HashMap<String, Set<String>>();
+        graph.put("app", setOf("web", "db"));
+        graph.put("web", setOf("core"));
+        graph.put("db", setOf("core"));
+        graph.put("core", setOf("core"));
+
+        List<Set<String>> levels = sortOf(graph).sortInLevels(Arrays.asList("app"));
+        assertEquals(Arrays.asList(setOf("core"), setOf("web", "db"), setOf("app")), levels);
+        assertEquals(setOf("core", "web", "db", "app"), sortOf(graph).sortInLevelOrder(Arrays.asList("app")));
+        assertEquals(setOf("core", "web", "db", "app"), sortOf(graph).sort(Arrays.asList("app")));
+    }
+
+    @Test
+    public void testDepthFirstAndLevelOrder() {
+        Map<String, Set<String>> graph = new HashMap<String, Set<String>>();
+        graph.put("a", setOf("b", "c"));
+        graph.put("b", setOf("d"));
+
+        assertEquals(Arrays.asList("d", "b", "c", "a"), new ArrayList<String>(sortOf(graph).sort(Arrays.asList("a"))));
+        assertEquals(Arrays.asList("c", "d", "b", "a"), new ArrayList<String>(sortOf(graph).sortInLevelOrder(Arrays.asList("a"))));
+    }
+
+    @Test
+    public void testLongChainDoesNotOverflow() {
+        Map<String, Set<String>> graph = new HashMap<String, Set<String>>();
+        for (int i = 0; i < 100000; i++) {
+            graph.put(String.valueOf(i), setOf(String.valueOf(i + 1)));
+        }
+
+        Set<String> sorted = sortOf(graph).sort(Arrays.asList("0"));
+        assertEquals(100001, sorted.size());
+        assertEquals("100000", sorted.iterator().next());
+
+        sorted = sortOf(graph).sortInLevelOrder(Arrays.asList("0"));
+        assertEquals(100001, sorted.size());
+        assertEquals("100000", sorted.iterator().next());
+    }
+
+    @Test
+    public void testCycleIsReported() {
+        Map<String, Set<String>> graph = new HashMap<String, Set<String>>();
+        graph.put("a", setOf("b"));
+        graph.put("b", setOf("c"));
+        graph.put("c", setOf("a"));
+        graph.put("d", setOf("a"));
+
+        try {
+            sortOf(graph).sortInLevels(Arrays.asList("d"));
+            fail("Expected a cyclic dependency.");
+        } catch (CyclicDependencyException e) {
+            assertEquals(Arrays.<Object>asList("a", "b", "c"), e.getCycle());
+        }
+
+        //Depth first sorting ignores the cycle.
+        assertEquals(Arrays.asList("c", "b", "a", "d"), new ArrayList<String>(sortOf(graph).sort(Arrays.asList("d"))));
+    }
+}
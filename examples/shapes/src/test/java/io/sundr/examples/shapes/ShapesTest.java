@@ -28,6 +28,9 @@ import io.sundr.examples.shapes.v1.EditableCircle;
 import io.sundr.examples.shapes.v1.Square;
 import io.sundr.examples.shapes.v1.SquareBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 
@@ -188,6 +191,30 @@ public class ShapesTest {
     }
 
 
+    @Test
+    public void testIndexedMutatorsKeepVisitOrder() {
+        CanvasBuilder builder = new CanvasBuilder()
+                .addToShapes(circle(1), circle(2), circle(3))
+                .setToShapes(1, circle(5))
+                .addToShapes(1, circle(4));
+
+        final List<Integer> radii = new ArrayList<Integer>();
+        builder.accept(new Visitor<CircleBuilder<Integer>>() {
+            @Override
+            public void visit(CircleBuilder<Integer> circle) {
+                radii.add(circle.getRadius());
+            }
+        });
+        Assert.assertEquals(Arrays.asList(1, 4, 5, 3), radii);
+
+        builder.removeFromShapes(circle(4), circle(3));
+        Assert.assertEquals(2, builder.build().getShapes().size());
+    }
+
+    private static Circle<Integer> circle(int radius) {
+        return new CircleBuilder<Integer>().withX(0).withY(0).withRadius(radius).build();
+    }
+
     @Test
     public void testMultiType() {
         Canvas canvas = new CanvasBuilder()